@@ -1,18 +1,22 @@
 package com.example.department.client;
 
+import com.example.department.config.CborFeignConfig;
 import com.example.department.dto.EmployeeDTO;
 import com.example.department.dto.PageResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "EMPLOYEE-SERVICE", path = "/api/v1/employees")
+@FeignClient(name = "EMPLOYEE-SERVICE", path = "/api/v1/employees",
+        configuration = CborFeignConfig.class)
 public interface EmployeeClient {
 
     @GetMapping
     PageResponse<EmployeeDTO> getEmployees(
             @RequestParam(value = "departmentId", required = false) Long departmentId,
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "20") int size
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "sort", required = false) String sort
     );
 }
\ No newline at end of file
@@ -3,14 +3,17 @@ package com.example.department.controller;
 import com.example.department.dto.DepartmentDTO;
 import com.example.department.dto.EmployeeDTO;
 import com.example.department.dto.PageResponse;
+import com.example.department.dto.SortCatalog;
 import com.example.department.service.DepartmentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/departments")
@@ -25,15 +28,22 @@ public class DepartmentController {
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "id,asc") String sort,
             @RequestParam(required = false) String name,
-            @RequestParam(required = false) String code) {
+            @RequestParam(required = false) String code,
+            WebRequest request) {
 
         Pageable pageable = createPageable(page, size, sort);
-        return service.getAll(pageable, name, code);
+        // null once checkNotModified has turned the response into a 304
+        return service.ifListChanged(request::checkNotModified, () -> service.getAll(pageable, name, code));
+    }
+
+    @GetMapping(params = "ids")
+    public List<DepartmentDTO> byIds(@RequestParam List<Long> ids) {
+        return service.getByIds(ids);
     }
 
     @GetMapping("/{id}")
-    public DepartmentDTO byId(@PathVariable Long id) {
-        return service.getById(id);
+    public DepartmentDTO byId(@PathVariable Long id, WebRequest request) {
+        return service.ifChanged(id, request::checkNotModified, () -> service.getById(id));
     }
 
     @GetMapping("/by-code/{code}")
@@ -70,15 +80,11 @@ public class DepartmentController {
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "id,asc") String sort) {
 
-        Pageable pageable = createPageable(page, size, sort);
-        return service.getDepartmentEmployees(id, pageable);
+        // Employee sorts are validated by employee-service
+        return service.getDepartmentEmployees(id, PageRequest.of(page, size), sort);
     }
 
     private Pageable createPageable(int page, int size, String sort) {
-        String[] sortParts = sort.split(",");
-        String field = sortParts[0];
-        Sort.Direction direction = sortParts.length > 1 && "desc".equalsIgnoreCase(sortParts[1])
-                ? Sort.Direction.DESC : Sort.Direction.ASC;
-        return PageRequest.of(page, size, Sort.by(direction, field));
+        return PageRequest.of(page, size, SortCatalog.DEPARTMENTS.parse(sort));
     }
 }
\ No newline at end of file
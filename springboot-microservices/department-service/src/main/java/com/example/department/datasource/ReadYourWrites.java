@@ -0,0 +1,82 @@
+package com.example.department.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Keeps a client's reads on the primary for a short window after its own write, so it never reads
+ * a replica that has not caught up with that write yet. The window is carried in a cookie holding
+ * the expiry time, and applies to the rest of the writing request as well.
+ * Outside a web request (Kafka listeners, scheduled jobs) nothing is pinned.
+ */
+public final class ReadYourWrites {
+
+    public static final String COOKIE = "read-primary-until";
+
+    private static final String PINNED = ReadYourWrites.class.getName() + ".PINNED";
+    private static final String WRITTEN = ReadYourWrites.class.getName() + ".WRITTEN";
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Whether the current request must read from the primary.
+     */
+    static boolean isPinned() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+        Object pinned = attributes.getAttribute(PINNED, RequestAttributes.SCOPE_REQUEST);
+        if (pinned == null) {
+            pinned = hasUnexpiredCookie(servletAttributes.getRequest());
+            attributes.setAttribute(PINNED, pinned, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Boolean) pinned;
+    }
+
+    /**
+     * Pin the current request and, through the cookie, the client's next requests for {@code window}.
+     */
+    static void recordWrite(Duration window) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)
+                || attributes.getAttribute(WRITTEN, RequestAttributes.SCOPE_REQUEST) != null) {
+            return;
+        }
+        attributes.setAttribute(WRITTEN, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        attributes.setAttribute(PINNED, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+
+        HttpServletResponse response = servletAttributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, String.valueOf(System.currentTimeMillis() + window.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            response.addCookie(cookie);
+        }
+    }
+
+    private static boolean hasUnexpiredCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.department.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Polls each replica's replay lag and marks it unhealthy when the lag exceeds the limit or the
+ * replica can't be reached. Replicas start unhealthy, so reads stay on the primary until the
+ * first check has passed.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * Seconds since the last replayed transaction, or 0 when everything received has been replayed
+     * (an idle primary otherwise looks like growing lag) or the server is not a standby.
+     */
+    private static final String LAG_SQL = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+    private final Duration maxLag;
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, Duration maxLag, MeterRegistry meterRegistry) {
+        this.maxLag = maxLag;
+        replicas.forEach((name, dataSource) -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+            this.replicas.put(name, jdbcTemplate);
+            lagSeconds.put(name, Double.NaN);
+            healthy.put(name, false);
+
+            Gauge.builder("datasource.replica.lag", lagSeconds, lags -> lags.get(name))
+                    .description("Replay lag of the replica as of the last check")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", healthy, states -> states.get(name) ? 1 : 0)
+                    .description("1 when the replica receives read-only transactions")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        });
+    }
+
+    public boolean isHealthy(String replica) {
+        return healthy.getOrDefault(replica, false);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${datasource.routing.lag-check-interval:PT5S}")
+    public void check() {
+        replicas.forEach((name, jdbcTemplate) -> {
+            boolean wasHealthy = healthy.get(name);
+            boolean nowHealthy;
+            try {
+                Double lag = jdbcTemplate.queryForObject(LAG_SQL, Double.class);
+                double seconds = lag != null ? lag : Double.NaN;
+                lagSeconds.put(name, seconds);
+                nowHealthy = seconds <= maxLag.toMillis() / 1000.0;
+            } catch (RuntimeException e) {
+                lagSeconds.put(name, Double.NaN);
+                nowHealthy = false;
+                log.debug("Replica {} lag check failed: {}", name, e.getMessage());
+            }
+            healthy.put(name, nowHealthy);
+            if (wasHealthy != nowHealthy) {
+                log.warn("Replica {} is now {} (lag {}s, limit {}s)", name,
+                        nowHealthy ? "serving reads" : "bypassed", lagSeconds.get(name), maxLag.toSeconds());
+            }
+        });
+    }
+}
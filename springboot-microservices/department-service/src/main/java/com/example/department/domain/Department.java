@@ -4,9 +4,15 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "departments", schema = "department")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "departments")
+@NaturalIdCache(region = "departments-by-code")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Department {
     @Id
@@ -17,6 +23,7 @@ public class Department {
     @Column(nullable = false, length = 120)
     private String name;
 
+    @NaturalId(mutable = true)
     @NotBlank(message = "Code is required")
     @Size(min = 3, max = 20, message = "Code must be between 3 and 20 characters")
     @Column(nullable = false, unique = true, length = 20)
@@ -27,4 +34,7 @@ public class Department {
 
     @Column(name = "manager_email")
     private String managerEmail;
+
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.example.department.dto;
+
+/**
+ * Department list row read straight from the query, without the description TEXT column.
+ */
+public record DepartmentSummary(Long id, String name, String code, String managerEmail) {
+}
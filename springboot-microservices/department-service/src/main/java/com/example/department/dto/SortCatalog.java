@@ -0,0 +1,93 @@
+package com.example.department.dto;
+
+import com.example.exception.common.ValidationException;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Sorts a list endpoint accepts. {@code sort} is one or more {@code field[,asc|desc]} separated by
+ * {@code ;}, e.g. {@code lastName,asc;firstName,asc}. The fields must match a declared key
+ * sequence, all keys share one direction, and {@code id} is always appended as the tiebreak, so
+ * every accepted sort is served by one composite index scanned forwards or backwards.
+ */
+public final class SortCatalog {
+
+    /**
+     * Department sorts; each key sequence plus id has a composite index (V5).
+     */
+    public static final SortCatalog DEPARTMENTS = new SortCatalog(List.of(
+            List.of(),
+            List.of("name"),
+            List.of("code")));
+
+    private static final String ID = "id";
+
+    private final List<List<String>> allowed;
+
+    private SortCatalog(List<List<String>> allowed) {
+        this.allowed = allowed;
+    }
+
+    public Sort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by(ID);
+        }
+
+        List<String> fields = new ArrayList<>();
+        Sort.Direction direction = null;
+        String[] keys = sort.split(";");
+        for (int i = 0; i < keys.length; i++) {
+            String[] parts = keys[i].split(",");
+            String field = parts[0].trim();
+            Sort.Direction keyDirection = direction(parts);
+            if (direction != null && keyDirection != direction) {
+                throw new ValidationException("sort", "All sort keys must use the same direction");
+            }
+            direction = keyDirection;
+            if (field.equals(ID)) {
+                if (i != keys.length - 1) {
+                    throw new ValidationException("sort", "id can only be the last sort key");
+                }
+            } else {
+                fields.add(field);
+            }
+        }
+
+        if (!allowed.contains(fields)) {
+            throw new ValidationException("sort",
+                    String.format("Unsupported sort '%s'. Supported sorts: %s", sort, describe()));
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String field : fields) {
+            orders.add(new Sort.Order(direction, field));
+        }
+        orders.add(new Sort.Order(direction, ID));
+        return Sort.by(orders);
+    }
+
+    private List<String> describe() {
+        return allowed.stream()
+                .map(fields -> fields.isEmpty() ? ID : String.join(";", fields))
+                .collect(Collectors.toList());
+    }
+
+    private static Sort.Direction direction(String[] parts) {
+        if (parts.length == 1) {
+            return Sort.Direction.ASC;
+        }
+        if (parts.length > 2) {
+            throw new ValidationException("sort", "Each sort key must be field or field,asc|desc");
+        }
+        String direction = parts[1].trim();
+        if ("asc".equalsIgnoreCase(direction)) {
+            return Sort.Direction.ASC;
+        }
+        if ("desc".equalsIgnoreCase(direction)) {
+            return Sort.Direction.DESC;
+        }
+        throw new ValidationException("sort", "Sort direction must be asc or desc");
+    }
+}
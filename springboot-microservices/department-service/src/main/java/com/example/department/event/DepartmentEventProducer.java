@@ -0,0 +1,82 @@
+package com.example.department.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Department Event Producer
+ * Publishes department changes so other services can invalidate their copies.
+ * Events are keyed by department id and only sent once the surrounding transaction commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DepartmentEventProducer {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private static final String TOPIC = "department-events";
+
+    public void sendDepartmentCreatedEvent(Long departmentId, String name, String code) {
+        send("DEPARTMENT_CREATED", departmentId, name, code);
+    }
+
+    public void sendDepartmentUpdatedEvent(Long departmentId, String name, String code) {
+        send("DEPARTMENT_UPDATED", departmentId, name, code);
+    }
+
+    public void sendDepartmentDeletedEvent(Long departmentId) {
+        send("DEPARTMENT_DELETED", departmentId, null, null);
+    }
+
+    private void send(String event, Long departmentId, String name, String code) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("event", event);
+        payload.put("id", departmentId);
+        payload.put("name", name);
+        payload.put("code", code);
+
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize {} event for department {}: {}", event, departmentId, e.getMessage());
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(departmentId, message);
+                }
+            });
+        } else {
+            publish(departmentId, message);
+        }
+    }
+
+    private void publish(Long departmentId, String message) {
+        try {
+            kafkaTemplate.send(TOPIC, String.valueOf(departmentId), message)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.warn("Failed to send department event {}: {}", message, ex.getMessage());
+                        }
+                    });
+            log.info("Sent department event: {}", message);
+        } catch (Exception e) {
+            // The change is already committed; consumers fall back to their cache TTL
+            log.warn("Could not send department event {}: {}", message, e.getMessage());
+        }
+    }
+}
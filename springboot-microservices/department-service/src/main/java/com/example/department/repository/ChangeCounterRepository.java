@@ -0,0 +1,48 @@
+package com.example.department.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Per-table change counters maintained by the V6 statement triggers on departments.
+ * Since V7 a trigger appends a change_log row rather than updating the counter row, so writers
+ * never wait on each other here; a counter is its stored value plus its change_log rows.
+ * Both are transactional, so reading a counter before the data it describes never yields a
+ * counter newer than that data.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChangeCounterRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long changes(String table) {
+        // One statement, so the counter and the log rows come from the same snapshot
+        Long changes = jdbcTemplate.queryForObject("""
+                SELECT c.changes + (SELECT count(*) FROM department.change_log l WHERE l.table_name = c.table_name)
+                FROM department.change_counters c
+                WHERE c.table_name = ?
+                """, Long.class, table);
+        return changes != null ? changes : 0;
+    }
+
+    /**
+     * Fold the table's change_log rows into its counter in one statement; {@link #changes} returns
+     * the same value before and after.
+     *
+     * @return number of log rows folded in
+     */
+    public int compact(String table) {
+        Integer folded = jdbcTemplate.queryForObject("""
+                WITH folded AS (
+                    DELETE FROM department.change_log WHERE table_name = ? RETURNING id
+                ), bumped AS (
+                    UPDATE department.change_counters SET changes = changes + (SELECT count(*) FROM folded)
+                    WHERE table_name = ?
+                )
+                SELECT count(*) FROM folded
+                """, Integer.class, table, table);
+        return folded != null ? folded : 0;
+    }
+}
@@ -1,23 +1,37 @@
 package com.example.department.repository;
 
 import com.example.department.domain.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
-public interface DepartmentRepository extends JpaRepository<Department, Long> {
+public interface DepartmentRepository extends JpaRepository<Department, Long>, JpaSpecificationExecutor<Department>,
+        DepartmentRepositoryCustom {
     boolean existsByCode(String code);
     boolean existsByCodeAndIdNot(String code, Long id);
+
+    // Enough to compute the ETag without loading the department
+    @Query("SELECT d.version FROM Department d WHERE d.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Cached in the query cache when it is enabled; any write to departments invalidates it.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Department> findByCodeIgnoreCase(String code);
 
-    @Query("SELECT d FROM Department d WHERE " +
-            "(:name IS NULL OR LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
-            "(:code IS NULL OR LOWER(d.code) LIKE LOWER(CONCAT('%', :code, '%')))")
-    Page<Department> findWithFilters(@Param("name") String name,
-                                     @Param("code") String code,
-                                     Pageable pageable);
-}
\ No newline at end of file
+    /**
+     * Case-insensitive substring filters; only the filters that are set end up in the SQL.
+     */
+    default Page<Department> findWithFilters(String name, String code, Pageable pageable) {
+        return findAll(DepartmentSpecifications.matching(name, code), pageable);
+    }
+}
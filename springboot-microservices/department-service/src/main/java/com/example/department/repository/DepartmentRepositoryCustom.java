@@ -0,0 +1,26 @@
+package com.example.department.repository;
+
+import com.example.department.dto.DepartmentSummary;
+import com.example.department.domain.Department;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
+
+/**
+ * Hand-written queries of {@link DepartmentRepository}.
+ */
+public interface DepartmentRepositoryCustom {
+
+    /**
+     * Filtered page of list rows. Rows are constructed in the query, so no entities are loaded
+     * into the persistence context and description is never read.
+     */
+    Page<DepartmentSummary> findSummaries(String name, String code, Pageable pageable);
+
+    /**
+     * Exact-case lookup by the {@code code} natural id, served from the natural-id cache when
+     * the second-level cache is enabled.
+     */
+    Optional<Department> findByNaturalCode(String code);
+}
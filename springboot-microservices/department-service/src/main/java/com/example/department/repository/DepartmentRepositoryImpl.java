@@ -0,0 +1,70 @@
+package com.example.department.repository;
+
+import com.example.department.domain.Department;
+import com.example.department.dto.DepartmentSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hand-written queries for {@link DepartmentRepository}.
+ */
+class DepartmentRepositoryImpl implements DepartmentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<DepartmentSummary> findSummaries(String name, String code, Pageable pageable) {
+        Specification<Department> spec = DepartmentSpecifications.matching(name, code);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DepartmentSummary> query = cb.createQuery(DepartmentSummary.class);
+        Root<Department> root = query.from(Department.class);
+
+        query.select(cb.construct(DepartmentSummary.class,
+                        root.get("id"), root.get("name"), root.get("code"), root.get("managerEmail")))
+                .where(where(spec, root, query, cb))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<DepartmentSummary> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Department> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Department> root = query.from(Department.class);
+        query.select(cb.count(root)).where(where(spec, root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public Optional<Department> findByNaturalCode(String code) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Department.class)
+                .loadOptional(code);
+    }
+
+    private static Predicate[] where(Specification<Department> spec, Root<Department> root,
+                                     CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        return predicate == null ? new Predicate[0] : new Predicate[]{predicate};
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.department.repository;
+
+import com.example.department.domain.Department;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Department filters as Specifications. Only the filters that are set are combined, so each
+ * combination gets its own plan; substring filters match the lower(column) trigram indexes.
+ */
+public final class DepartmentSpecifications {
+
+    private DepartmentSpecifications() {
+    }
+
+    /**
+     * Name and code filters; null arguments are skipped.
+     */
+    public static Specification<Department> matching(String name, String code) {
+        Specification<Department> spec = Specification.where(null);
+        if (name != null) {
+            spec = spec.and(nameContains(name));
+        }
+        if (code != null) {
+            spec = spec.and(codeContains(code));
+        }
+        return spec;
+    }
+
+    public static Specification<Department> nameContains(String name) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), contains(name));
+    }
+
+    public static Specification<Department> codeContains(String code) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("code")), contains(code));
+    }
+
+    private static String contains(String value) {
+        return "%" + value.toLowerCase() + "%";
+    }
+}
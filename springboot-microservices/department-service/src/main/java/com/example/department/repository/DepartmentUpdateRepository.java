@@ -0,0 +1,114 @@
+package com.example.department.repository;
+
+import com.example.department.domain.Department;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Applies PUT and PATCH to a department in one {@code UPDATE ... RETURNING} statement, on the
+ * connection of the surrounding JPA transaction. A code taken by another department (compared
+ * case-insensitively by the unique index) surfaces as
+ * {@link org.springframework.dao.DuplicateKeyException}; an unknown id as an empty result.
+ * <p>
+ * Hibernate does not see these writes, so after commit the department is evicted from the entity
+ * cache, and the natural-id and query caches are cleared since the code may have moved.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DepartmentUpdateRepository {
+
+    private static final String UPDATE_SQL = """
+            UPDATE department.departments
+            SET name          = %s,
+                code          = %s,
+                description   = %s,
+                manager_email = %s,
+                version       = version + 1
+            WHERE id = :id
+            RETURNING id, name, code, description, manager_email, version
+            """;
+
+    private static final String REPLACE_SQL = UPDATE_SQL.formatted(
+            ":name", ":code", ":description", ":managerEmail");
+
+    // Null parameters keep the current value
+    private static final String PATCH_SQL = UPDATE_SQL.formatted(
+            "COALESCE(CAST(:name AS VARCHAR), name)",
+            "COALESCE(CAST(:code AS VARCHAR), code)",
+            "COALESCE(CAST(:description AS TEXT), description)",
+            "COALESCE(CAST(:managerEmail AS VARCHAR), manager_email)");
+
+    private static final RowMapper<Department> DEPARTMENT_MAPPER = (rs, rowNum) -> Department.builder()
+            .id(rs.getLong("id"))
+            .name(rs.getString("name"))
+            .code(rs.getString("code"))
+            .description(rs.getString("description"))
+            .managerEmail(rs.getString("manager_email"))
+            .version(rs.getLong("version"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Sets every column and returns the department as stored, detached.
+     */
+    public Optional<Department> replace(Long id, String name, String code, String description,
+                                        String managerEmail) {
+        return update(REPLACE_SQL, id, name, code, description, managerEmail);
+    }
+
+    /**
+     * Sets the non-null columns and returns the department as stored, detached.
+     */
+    public Optional<Department> patch(Long id, String name, String code, String description,
+                                      String managerEmail) {
+        return update(PATCH_SQL, id, name, code, description, managerEmail);
+    }
+
+    private Optional<Department> update(String sql, Long id, String name, String code, String description,
+                                        String managerEmail) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("name", name)
+                .addValue("code", code)
+                .addValue("description", description)
+                .addValue("managerEmail", managerEmail);
+        List<Department> updated = jdbcTemplate.query(sql, params, DEPARTMENT_MAPPER);
+        if (updated.isEmpty()) {
+            return Optional.empty();
+        }
+        evictAfterCommit(id);
+        return Optional.of(updated.get(0));
+    }
+
+    private void evictAfterCommit(Long id) {
+        Runnable evict = () -> {
+            Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            cache.evict(Department.class, id);
+            cache.evictNaturalIdData(Department.class);
+            cache.evictDefaultQueryRegion();
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+}
@@ -4,8 +4,12 @@ import com.example.department.client.EmployeeClient;
 import com.example.department.domain.Department;
 import com.example.department.dto.DepartmentDTO;
 import com.example.department.dto.EmployeeDTO;
+import com.example.department.dto.DepartmentSummary;
 import com.example.department.dto.PageResponse;
+import com.example.department.event.DepartmentEventProducer;
+import com.example.department.repository.ChangeCounterRepository;
 import com.example.department.repository.DepartmentRepository;
+import com.example.department.repository.DepartmentUpdateRepository;
 
 import com.example.exception.common.BusinessException;
 import com.example.exception.common.ValidationException;
@@ -16,11 +20,17 @@ import com.example.exception.external.ExternalServiceException;
 import feign.FeignException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /**
@@ -34,7 +44,13 @@ import java.util.regex.Pattern;
 public class DepartmentService {
 
     private final DepartmentRepository repository;
+    private final DepartmentUpdateRepository updateRepository;
     private final EmployeeClient employeeClient;
+    private final DepartmentEventProducer eventProducer;
+    private final ChangeCounterRepository changeCounters;
+
+    private static final int MAX_BATCH_IDS = 500;
+    private static final String EMPLOYEE_FIELDS = "id,firstName,lastName,email,departmentId";
 
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
             "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$"
@@ -46,12 +62,30 @@ public class DepartmentService {
     public PageResponse<DepartmentDTO> getAll(Pageable pageable, String name, String code) {
         log.debug("Fetching departments with filters - name: {}, code: {}", name, code);
 
-        Page<Department> page = repository.findWithFilters(name, code, pageable);
-        Page<DepartmentDTO> dtoPage = page.map(this::toDTO);
+        Page<DepartmentDTO> dtoPage = repository.findSummaries(name, code, pageable).map(this::toDTO);
 
         return PageResponse.from(dtoPage);
     }
 
+    /**
+     * Run {@code read} unless If-None-Match still matches the department's version.
+     * Only the version column is read for the check, so a 304 never loads the department.
+     *
+     * @return the result of {@code read}, or {@code null} when not modified
+     */
+    public <T> T ifChanged(Long id, Predicate<String> notModified, Supplier<T> read) {
+        Long version = repository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department", id));
+        return notModified.test("\"" + id + "-" + version + "\"") ? null : read.get();
+    }
+
+    /**
+     * Run {@code read} unless If-None-Match still matches the departments change counter (weak ETag).
+     */
+    public <T> T ifListChanged(Predicate<String> notModified, Supplier<T> read) {
+        return notModified.test("W/\"" + changeCounters.changes("departments") + "\"") ? null : read.get();
+    }
+
     /**
      * Get department by ID
      */
@@ -64,13 +98,32 @@ public class DepartmentService {
         return toDTO(department);
     }
 
+    /**
+     * Get departments by IDs in a single query.
+     * Unknown IDs are skipped, so callers can tell missing departments apart by comparing IDs.
+     */
+    public List<DepartmentDTO> getByIds(Collection<Long> ids) {
+        log.debug("Fetching departments with ids: {}", ids);
+
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new ValidationException("ids",
+                    String.format("At most %d department ids can be requested at once", MAX_BATCH_IDS));
+        }
+
+        return repository.findAllById(ids.stream().distinct().toList()).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
     /**
      * Get department by code (case-insensitive)
      */
     public DepartmentDTO getByCode(String code) {
         log.debug("Fetching department with code: {}", code);
 
-        Department department = repository.findByCodeIgnoreCase(code)
+        // Exact-case codes resolve through the natural-id cache; other spellings fall back to the query
+        Department department = repository.findByNaturalCode(code)
+                .or(() -> repository.findByCodeIgnoreCase(code))
                 .orElseThrow(() -> new ResourceNotFoundException(
                         String.format("Department not found with code: %s", code)));
 
@@ -106,6 +159,7 @@ public class DepartmentService {
 
         department = repository.save(department);
         log.info("Created department with id: {}", department.getId());
+        eventProducer.sendDepartmentCreatedEvent(department.getId(), department.getName(), department.getCode());
 
         return toDTO(department);
     }
@@ -117,31 +171,19 @@ public class DepartmentService {
     public DepartmentDTO update(Long id, DepartmentDTO dto) {
         log.info("Updating department with id: {}", id);
 
-        Department existing = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department", id));
-
         // Validate code format
         validateCode(dto.getCode());
 
-        // Check for duplicate code (excluding current department)
-        if (repository.existsByCodeAndIdNot(dto.getCode(), id)) {
-            throw new DuplicateResourceException("Department", dto.getCode());
-        }
-
         // Validate manager email if provided
         if (dto.getManagerEmail() != null && !dto.getManagerEmail().trim().isEmpty()) {
             validateEmail(dto.getManagerEmail());
         }
 
-        existing.setName(dto.getName());
-        existing.setCode(dto.getCode());
-        existing.setDescription(dto.getDescription());
-        existing.setManagerEmail(dto.getManagerEmail());
+        Department updated = applyUpdate(id, dto.getCode(), () -> updateRepository.replace(
+                id, dto.getName(), dto.getCode(), dto.getDescription(), dto.getManagerEmail()));
+        log.info("Updated department with id: {}", updated.getId());
 
-        existing = repository.save(existing);
-        log.info("Updated department with id: {}", existing.getId());
-
-        return toDTO(existing);
+        return toDTO(updated);
     }
 
     /**
@@ -151,36 +193,34 @@ public class DepartmentService {
     public DepartmentDTO patch(Long id, DepartmentDTO dto) {
         log.info("Patching department with id: {}", id);
 
-        Department existing = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department", id));
-
-        if (dto.getName() != null) {
-            existing.setName(dto.getName());
-        }
-
         if (dto.getCode() != null) {
             validateCode(dto.getCode());
-            if (repository.existsByCodeAndIdNot(dto.getCode(), id)) {
-                throw new DuplicateResourceException("Department", dto.getCode());
-            }
-            existing.setCode(dto.getCode());
         }
 
-        if (dto.getDescription() != null) {
-            existing.setDescription(dto.getDescription());
+        if (dto.getManagerEmail() != null && !dto.getManagerEmail().trim().isEmpty()) {
+            validateEmail(dto.getManagerEmail());
         }
 
-        if (dto.getManagerEmail() != null) {
-            if (!dto.getManagerEmail().trim().isEmpty()) {
-                validateEmail(dto.getManagerEmail());
-            }
-            existing.setManagerEmail(dto.getManagerEmail());
-        }
+        Department updated = applyUpdate(id, dto.getCode(), () -> updateRepository.patch(
+                id, dto.getName(), dto.getCode(), dto.getDescription(), dto.getManagerEmail()));
+        log.info("Patched department with id: {}", updated.getId());
 
-        existing = repository.save(existing);
-        log.info("Patched department with id: {}", existing.getId());
+        return toDTO(updated);
+    }
 
-        return toDTO(existing);
+    /**
+     * Runs the single-statement update, letting the unique index on code report duplicates, and
+     * publishes the change.
+     */
+    private Department applyUpdate(Long id, String code, Supplier<Optional<Department>> update) {
+        Department updated;
+        try {
+            updated = update.get().orElseThrow(() -> new ResourceNotFoundException("Department", id));
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateResourceException("Department", code);
+        }
+        eventProducer.sendDepartmentUpdatedEvent(updated.getId(), updated.getName(), updated.getCode());
+        return updated;
     }
 
     /**
@@ -196,7 +236,7 @@ public class DepartmentService {
 
         // Check if department has employees
         try {
-            PageResponse<EmployeeDTO> employees = employeeClient.getEmployees(id, 0, 1);
+            PageResponse<EmployeeDTO> employees = employeeClient.getEmployees(id, 0, 1, "id", null);
             if (employees.getTotalElements() > 0) {
                 throw new BusinessException(
                         String.format("Cannot delete department %d: %d employee(s) are still assigned to this department",
@@ -214,12 +254,13 @@ public class DepartmentService {
 
         repository.deleteById(id);
         log.info("Deleted department with id: {}", id);
+        eventProducer.sendDepartmentDeletedEvent(id);
     }
 
     /**
      * Get employees in a department
      */
-    public PageResponse<EmployeeDTO> getDepartmentEmployees(Long departmentId, Pageable pageable) {
+    public PageResponse<EmployeeDTO> getDepartmentEmployees(Long departmentId, Pageable pageable, String sort) {
         log.debug("Fetching employees for department: {}", departmentId);
 
         // Verify department exists
@@ -228,7 +269,10 @@ public class DepartmentService {
         }
 
         try {
-            return employeeClient.getEmployees(departmentId, pageable.getPageNumber(), pageable.getPageSize());
+            return employeeClient.getEmployees(departmentId, pageable.getPageNumber(), pageable.getPageSize(),
+                    EMPLOYEE_FIELDS, sort);
+        } catch (FeignException.BadRequest e) {
+            throw new ValidationException("sort", String.format("Unsupported employee sort '%s'", sort));
         } catch (FeignException.NotFound e) {
             log.warn("No employees found for department {}", departmentId);
             return new PageResponse<>();
@@ -266,6 +310,18 @@ public class DepartmentService {
         }
     }
 
+    /**
+     * Convert list projection to DTO; description is not part of the projection
+     */
+    private DepartmentDTO toDTO(DepartmentSummary summary) {
+        return DepartmentDTO.builder()
+                .id(summary.id())
+                .name(summary.name())
+                .code(summary.code())
+                .managerEmail(summary.managerEmail())
+                .build();
+    }
+
     /**
      * Convert entity to DTO
      */
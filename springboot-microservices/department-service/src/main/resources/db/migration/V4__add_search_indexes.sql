@@ -0,0 +1,8 @@
+-- Case-insensitive substring filters: lower(col) LIKE '%x%' can only use trigram indexes
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_departments_name_trgm
+    ON department.departments USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_departments_code_trgm
+    ON department.departments USING gin (lower(code) gin_trgm_ops);
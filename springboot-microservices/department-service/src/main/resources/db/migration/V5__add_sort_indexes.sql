@@ -0,0 +1,7 @@
+-- Every sort in SortCatalog.DEPARTMENTS ends with id and is read in index order.
+-- The unique code index is on lower(code), which ORDER BY code cannot use.
+CREATE INDEX IF NOT EXISTS idx_departments_name_id
+    ON department.departments (name, id);
+
+CREATE INDEX IF NOT EXISTS idx_departments_code_id
+    ON department.departments (code, id);
@@ -0,0 +1,25 @@
+-- Optimistic locking and strong ETags for single departments
+ALTER TABLE department.departments
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Change counter behind weak list ETags, bumped inside the writing transaction
+CREATE TABLE IF NOT EXISTS department.change_counters (
+    table_name VARCHAR(63) PRIMARY KEY,
+    changes    BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO department.change_counters (table_name)
+VALUES ('departments')
+ON CONFLICT (table_name) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION department.bump_change_counter() RETURNS trigger AS $$
+BEGIN
+    UPDATE department.change_counters SET changes = changes + 1 WHERE table_name = TG_TABLE_NAME;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS departments_change_counter ON department.departments;
+CREATE TRIGGER departments_change_counter
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON department.departments
+    FOR EACH STATEMENT EXECUTE FUNCTION department.bump_change_counter();
@@ -0,0 +1,16 @@
+-- Writers append one row per statement to change_log instead of updating the change_counters row,
+-- which every writing transaction held locked until commit. A counter is now its change_counters
+-- value plus its visible change_log rows; ChangeLogCompactor folds the rows into the value.
+CREATE TABLE IF NOT EXISTS department.change_log (
+    id         BIGSERIAL PRIMARY KEY,
+    table_name VARCHAR(63) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_log_table_name ON department.change_log (table_name);
+
+CREATE OR REPLACE FUNCTION department.bump_change_counter() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO department.change_log (table_name) VALUES (TG_TABLE_NAME);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,64 @@
+package com.example;
+
+import com.example.department.client.EmployeeClient;
+import com.example.department.event.DepartmentEventProducer;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Base for tests that run the whole application against a real PostgreSQL migrated by Flyway.
+ * The container is started once per JVM and subclasses with the same settings share one Spring
+ * context. Only employee-service and the Kafka producer are mocked. The departments table is
+ * emptied before each test, so V2's seed rows are not visible.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.cloud.config.enabled=false",
+                "eureka.client.enabled=false",
+                "spring.cloud.discovery.enabled=false",
+                "management.health.redis.enabled=false",
+                "department.change-log.compact-interval=PT1H"
+        }
+)
+public abstract class PostgresIntegrationTest {
+
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @MockBean
+    protected EmployeeClient employeeClient;
+
+    @MockBean
+    protected DepartmentEventProducer eventProducer;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void emptyTables() {
+        jdbcTemplate.execute("TRUNCATE department.departments CASCADE");
+    }
+
+    protected long department(String name, String code) {
+        Long id = jdbcTemplate.queryForObject(
+                "INSERT INTO department.departments (name, code) VALUES (?, ?) RETURNING id", Long.class, name, code);
+        return id != null ? id : 0;
+    }
+}
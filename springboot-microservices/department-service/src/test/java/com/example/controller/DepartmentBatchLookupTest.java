@@ -0,0 +1,101 @@
+package com.example.controller;
+
+import com.example.PostgresIntegrationTest;
+import com.example.department.dto.DepartmentDTO;
+import com.example.department.service.DepartmentService;
+import com.example.exception.common.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Batched lookups by id, as employee-service makes them for a page of employees.
+ */
+@DisplayName("Department batch lookup")
+class DepartmentBatchLookupTest extends PostgresIntegrationTest {
+
+    private static final int MAX_BATCH_IDS = 500;
+
+    @Autowired
+    private DepartmentService service;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    @DisplayName("no ids returns no departments")
+    void empty_ids() {
+        department("Engineering", "ENG");
+
+        assertThat(service.getByIds(List.of())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("duplicate ids return each department once")
+    void duplicate_ids() {
+        long eng = department("Engineering", "ENG");
+        long hr = department("Human Resources", "HRS");
+
+        assertThat(service.getByIds(List.of(eng, hr, eng, eng)))
+                .extracting(DepartmentDTO::getId)
+                .containsExactlyInAnyOrder(eng, hr);
+    }
+
+    @Test
+    @DisplayName("unknown ids are left out rather than failing the batch")
+    void missing_ids() {
+        long eng = department("Engineering", "ENG");
+
+        assertThat(service.getByIds(List.of(eng, eng + 1000)))
+                .extracting(DepartmentDTO::getId)
+                .containsExactly(eng);
+    }
+
+    @Test
+    @DisplayName("more than 500 ids are rejected")
+    void cap() {
+        List<Long> atCap = LongStream.rangeClosed(1, MAX_BATCH_IDS).boxed().toList();
+        List<Long> overCap = LongStream.rangeClosed(1, MAX_BATCH_IDS + 1).boxed().toList();
+
+        assertThat(service.getByIds(atCap)).isEmpty();
+        assertThatThrownBy(() -> service.getByIds(overCap))
+                .isInstanceOfSatisfying(ValidationException.class,
+                        e -> assertThat(e.getValidationErrors()).containsKey("ids"));
+    }
+
+    @Test
+    @DisplayName("GET /departments?ids= returns the known departments once each")
+    void http_lookup() {
+        long eng = department("Engineering", "ENG");
+        long hr = department("Human Resources", "HRS");
+
+        ResponseEntity<DepartmentDTO[]> response = rest.getForEntity(
+                "/api/v1/departments?ids={ids}", DepartmentDTO[].class, eng + "," + hr + "," + eng + ",999999");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(DepartmentDTO::getId).containsExactlyInAnyOrder(eng, hr);
+    }
+
+    @Test
+    @DisplayName("GET /departments?ids= with more than 500 ids answers 400")
+    void http_cap() {
+        String ids = LongStream.rangeClosed(1, MAX_BATCH_IDS + 1)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+
+        ResponseEntity<String> response = rest.getForEntity("/api/v1/departments?ids={ids}", String.class, ids);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("ids");
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.controller;
+
+import com.example.PostgresIntegrationTest;
+import com.example.department.dto.DepartmentDTO;
+import com.example.department.repository.ChangeCounterRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conditional GETs against the real version column, triggers and change counter.
+ */
+@DisplayName("Department ETags")
+class DepartmentETagTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ChangeCounterRepository changeCounters;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("single department: 304 for the current version, a new tag after an update")
+    void byId_etag_follows_version() {
+        long id = department("Engineering", "ENG");
+
+        String etag = get("/api/v1/departments/" + id, null).getHeaders().getETag();
+        assertThat(etag).isEqualTo("\"" + id + "-0\"");
+        assertThat(get("/api/v1/departments/" + id, etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        rest.put("/api/v1/departments/" + id, DepartmentDTO.builder().name("Research").code("ENG").build());
+
+        ResponseEntity<String> changed = get("/api/v1/departments/" + id, etag);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isEqualTo("\"" + id + "-1\"");
+    }
+
+    @Test
+    @DisplayName("list: weak tag, 304 until the table changes, unchanged by compaction")
+    void list_etag_follows_change_counter() {
+        department("Engineering", "ENG");
+        String etag = get("/api/v1/departments", null).getHeaders().getETag();
+        assertThat(etag).startsWith("W/\"");
+
+        changeCounters.compact("departments");
+        assertThat(get("/api/v1/departments", etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        department("Sales", "SAL");
+        assertThat(get("/api/v1/departments", etag).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("concurrent writers do not wait on each other for the counter")
+    void writers_do_not_serialize() throws Exception {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            try (Statement a = first.createStatement(); Statement b = second.createStatement()) {
+                a.executeUpdate("INSERT INTO department.departments (name, code) VALUES ('A', 'AAA')");
+                b.execute("SET LOCAL lock_timeout = '1s'");
+                b.executeUpdate("INSERT INTO department.departments (name, code) VALUES ('B', 'BBB')");
+                second.commit();
+                first.commit();
+            }
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM department.departments", Long.class))
+                .isEqualTo(2);
+    }
+
+    private ResponseEntity<String> get(String path, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.department.datasource;
+
+import com.example.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routing wired the way ReplicaRoutingConfig does it, with the test database standing in for both
+ * the primary and the replica, so the write detection runs against real PostgreSQL transactions.
+ */
+@DisplayName("Read-your-writes pinning")
+class ReadYourWritesTest extends PostgresIntegrationTest {
+
+    private static final String REPLICA = "replica-1";
+
+    @Autowired
+    private DataSource dataSource;
+
+    private ReplicaRoutingDataSource routing;
+    private PlatformTransactionManager transactionManager;
+    private JdbcTemplate routed;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+        when(lagMonitor.isHealthy(anyString())).thenReturn(true);
+        routing = new ReplicaRoutingDataSource(List.of(REPLICA), lagMonitor, Duration.ofSeconds(5));
+        routing.setTargetDataSources(Map.of(ReplicaRoutingDataSource.PRIMARY, dataSource, REPLICA, dataSource));
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(routing);
+        transactionManager = new DataSourceTransactionManager(lazy);
+        routed = new JdbcTemplate(lazy);
+
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), response));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("a committed write sets the cookie and keeps the request's reads on the primary")
+    void committed_write_pins() {
+        long id = department("Engineering", "ENG");
+
+        transaction(false).executeWithoutResult(status ->
+                routed.update("UPDATE department.departments SET name = 'Research' WHERE id = ?", id));
+
+        assertThat(response.getCookie(ReadYourWrites.COOKIE)).isNotNull();
+        assertThat(readRoute()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("a read-write transaction that only reads pins nothing")
+    void read_only_work_does_not_pin() {
+        department("Engineering", "ENG");
+
+        transaction(false).executeWithoutResult(status ->
+                routed.queryForObject("SELECT count(*) FROM department.departments", Long.class));
+
+        assertThat(response.getCookie(ReadYourWrites.COOKIE)).isNull();
+        assertThat(readRoute()).isEqualTo(REPLICA);
+    }
+
+    @Test
+    @DisplayName("a rolled-back write pins nothing")
+    void rolled_back_write_does_not_pin() {
+        long id = department("Engineering", "ENG");
+
+        transaction(false).executeWithoutResult(status -> {
+            routed.update("UPDATE department.departments SET name = 'Research' WHERE id = ?", id);
+            status.setRollbackOnly();
+        });
+
+        assertThat(response.getCookie(ReadYourWrites.COOKIE)).isNull();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT name FROM department.departments WHERE id = ?", String.class, id))
+                .isEqualTo("Engineering");
+    }
+
+    @Test
+    @DisplayName("an update that matches no row is not a write")
+    void update_without_rows_does_not_pin() {
+        transaction(false).executeWithoutResult(status ->
+                routed.update("UPDATE department.departments SET name = 'Research' WHERE id = -1"));
+
+        assertThat(response.getCookie(ReadYourWrites.COOKIE)).isNull();
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    private Object readRoute() {
+        return transaction(true).execute(status -> {
+            assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isTrue();
+            return routing.determineCurrentLookupKey();
+        });
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.repository;
 
 import com.example.department.domain.Department;
+import com.example.department.dto.DepartmentSummary;
 import com.example.department.repository.DepartmentRepository;
+import org.hibernate.Session;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.TestPropertySource;
 
 import java.util.Optional;
@@ -97,4 +100,68 @@ class DepartmentRepositoryTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getName()).isEqualTo("Engineering");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should find summaries matching name and code case-insensitively")
+    void shouldFindSummariesWithFilters() {
+        // Given
+        entityManager.persist(Department.builder()
+                .name("Engineering")
+                .code("ENG")
+                .description("Engineering Department")
+                .managerEmail("eng.lead@example.com")
+                .build());
+        entityManager.persist(Department.builder().name("Engineering Support").code("ESP").build());
+        entityManager.persist(Department.builder().name("Finance").code("FIN").build());
+        entityManager.flush();
+
+        // When
+        Page<DepartmentSummary> byName = repository.findSummaries("engineer", null, PageRequest.of(0, 10));
+        Page<DepartmentSummary> byBoth = repository.findSummaries("engineer", "en", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(byName.getContent()).extracting(DepartmentSummary::code).containsExactlyInAnyOrder("ENG", "ESP");
+        assertThat(byBoth.getContent()).hasSize(1);
+        DepartmentSummary eng = byBoth.getContent().get(0);
+        assertThat(eng.name()).isEqualTo("Engineering");
+        assertThat(eng.code()).isEqualTo("ENG");
+        assertThat(eng.managerEmail()).isEqualTo("eng.lead@example.com");
+    }
+
+    @Test
+    @DisplayName("Should page and sort summaries with an exact total")
+    void shouldPageAndSortSummaries() {
+        // Given
+        for (String code : new String[]{"DDD", "BBB", "EEE", "AAA", "CCC"}) {
+            entityManager.persist(Department.builder().name("Department " + code).code(code).build());
+        }
+        entityManager.flush();
+
+        // When
+        Page<DepartmentSummary> result = repository.findSummaries(null, null,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "code")));
+
+        // Then
+        assertThat(result.getContent()).extracting(DepartmentSummary::code).containsExactly("CCC", "BBB");
+        assertThat(result.getTotalElements()).isEqualTo(5);
+        assertThat(result.getTotalPages()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should read summaries without loading entities into the persistence context")
+    void shouldNotManageSummaryEntities() {
+        // Given
+        entityManager.persist(Department.builder().name("Engineering").code("ENG").build());
+        entityManager.persist(Department.builder().name("Finance").code("FIN").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        Page<DepartmentSummary> result = repository.findSummaries(null, null, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result.getContent()).hasSize(2);
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        assertThat(session.getStatistics().getEntityCount()).isZero();
+    }
+}
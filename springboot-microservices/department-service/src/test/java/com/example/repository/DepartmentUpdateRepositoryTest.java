@@ -0,0 +1,104 @@
+package com.example.repository;
+
+import com.example.PostgresIntegrationTest;
+import com.example.department.domain.Department;
+import com.example.department.dto.DepartmentDTO;
+import com.example.department.repository.DepartmentRepository;
+import com.example.department.repository.DepartmentUpdateRepository;
+import com.example.department.service.DepartmentService;
+import com.example.exception.resource.DuplicateResourceException;
+import com.example.exception.resource.ResourceNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * PUT and PATCH through the single UPDATE ... RETURNING statements, with the second-level cache on
+ * so the after-commit eviction is exercised.
+ */
+@TestPropertySource(properties = "department.entity-cache.enabled=true")
+@DisplayName("DepartmentUpdateRepository")
+class DepartmentUpdateRepositoryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private DepartmentUpdateRepository updateRepository;
+
+    @Autowired
+    private DepartmentRepository repository;
+
+    @Autowired
+    private DepartmentService service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("replace sets every column and bumps the version")
+    void replace_returns_stored_row() {
+        long id = department("Engineering", "ENG");
+
+        Department updated = updateRepository.replace(id, "Research", "RND", null, "boss@example.com").orElseThrow();
+
+        assertThat(updated.getName()).isEqualTo("Research");
+        assertThat(updated.getCode()).isEqualTo("RND");
+        assertThat(updated.getManagerEmail()).isEqualTo("boss@example.com");
+        assertThat(updated.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("patch keeps the columns it is not given")
+    void patch_keeps_null_columns() {
+        long id = department("Engineering", "ENG");
+
+        Department updated = updateRepository.patch(id, null, null, "Builds things", null).orElseThrow();
+
+        assertThat(updated.getName()).isEqualTo("Engineering");
+        assertThat(updated.getCode()).isEqualTo("ENG");
+        assertThat(updated.getDescription()).isEqualTo("Builds things");
+        assertThat(updated.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("an unknown id updates nothing and is 404 from the service")
+    void unknown_id() {
+        assertThat(updateRepository.patch(404L, "X", null, null, null)).isEmpty();
+        assertThatThrownBy(() -> service.patch(404L, DepartmentDTO.builder().name("X").build()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("a code taken in any case surfaces as DuplicateKeyException, and as 409 from the service")
+    void duplicate_code() {
+        department("Sales", "SAL");
+        long id = department("Engineering", "ENG");
+
+        assertThatThrownBy(() -> updateRepository.patch(id, null, "sal", null, null))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThatThrownBy(() -> service.patch(id, DepartmentDTO.builder().code("SAL").build()))
+                .isInstanceOf(DuplicateResourceException.class);
+    }
+
+    @Test
+    @DisplayName("the cached entity is evicted once the update commits")
+    void update_evicts_second_level_cache() {
+        long id = department("Engineering", "ENG");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> repository.findById(id));
+        assertThat(entityManagerFactory.getCache().contains(Department.class, id)).isTrue();
+
+        service.patch(id, DepartmentDTO.builder().name("Research").build());
+
+        assertThat(entityManagerFactory.getCache().contains(Department.class, id)).isFalse();
+        assertThat(service.getById(id).getName()).isEqualTo("Research");
+    }
+}
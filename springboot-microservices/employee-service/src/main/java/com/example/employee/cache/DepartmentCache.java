@@ -0,0 +1,194 @@
+package com.example.employee.cache;
+
+import com.example.employee.client.DepartmentClient;
+import com.example.employee.dto.DepartmentDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-process cache of departments keyed by id.
+ * Missing departments (404) are cached as empty for a shorter time so repeated lookups
+ * of stale ids don't hit department-service. Entries are evicted on department change events.
+ * Concurrent misses for the same id share one remote call. A load that races an eviction does
+ * not put its result back: every eviction advances a generation, and a loader only stores what it
+ * read if the generation is still the one it started under.
+ */
+@Slf4j
+@Component
+public class DepartmentCache {
+
+    // department-service rejects batched lookups of more ids than this
+    private static final int MAX_BATCH_IDS = 500;
+
+    private final DepartmentClient departmentClient;
+    private final Cache<Long, Optional<DepartmentDTO>> cache;
+    private final SingleFlight<Long, Optional<DepartmentDTO>> singleFlight;
+    private final AtomicLong generation = new AtomicLong();
+
+    public DepartmentCache(DepartmentClient departmentClient,
+                           MeterRegistry meterRegistry,
+                           @Value("${department.cache.maximum-size:10000}") long maximumSize,
+                           @Value("${department.cache.ttl:10m}") Duration ttl,
+                           @Value("${department.cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.departmentClient = departmentClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PresenceAwareExpiry(ttl, negativeTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "departments");
+        this.singleFlight = new SingleFlight<>(meterRegistry, "departments");
+    }
+
+    /**
+     * Look up a single department. Returns empty if department-service reports 404.
+     *
+     * @throws FeignException for any other remote failure; failures are not cached
+     */
+    public Optional<DepartmentDTO> get(Long id) {
+        Optional<DepartmentDTO> cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        return singleFlight.execute(id, () -> load(id));
+    }
+
+    /**
+     * Look up several departments, fetching the misses in batched calls of at most 500 ids.
+     * Ids department-service doesn't know are absent from the result.
+     *
+     * @throws FeignException if a batched call fails; failures are not cached
+     */
+    public Map<Long, DepartmentDTO> getAll(Collection<Long> ids) {
+        Map<Long, DepartmentDTO> result = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+
+        for (Long id : ids) {
+            Optional<DepartmentDTO> cached = cache.getIfPresent(id);
+            if (cached == null) {
+                misses.add(id);
+            } else {
+                cached.ifPresent(dept -> result.put(id, dept));
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            singleFlight.executeAll(misses, this::loadAll)
+                    .forEach((id, dept) -> dept.ifPresent(d -> result.put(id, d)));
+            log.debug("Department cache: {} hits, {} misses", ids.size() - misses.size(), misses.size());
+        }
+
+        return result;
+    }
+
+    /**
+     * Return only what is already cached, without any remote call.
+     * An empty value means the department is known not to exist.
+     */
+    public Map<Long, Optional<DepartmentDTO>> getAllCached(Collection<Long> ids) {
+        return cache.getAllPresent(ids);
+    }
+
+    private Optional<DepartmentDTO> load(Long id) {
+        long started = generation.get();
+        Optional<DepartmentDTO> loaded;
+        try {
+            loaded = Optional.ofNullable(departmentClient.getDepartment(id));
+        } catch (FeignException.NotFound e) {
+            loaded = Optional.empty();
+        }
+        putIfCurrent(id, loaded, started);
+        return loaded;
+    }
+
+    private Map<Long, Optional<DepartmentDTO>> loadAll(Collection<Long> ids) {
+        long started = generation.get();
+        List<Long> pending = List.copyOf(ids);
+        Map<Long, DepartmentDTO> found = new HashMap<>();
+        for (int i = 0; i < pending.size(); i += MAX_BATCH_IDS) {
+            List<Long> batch = pending.subList(i, Math.min(i + MAX_BATCH_IDS, pending.size()));
+            for (DepartmentDTO dept : departmentClient.getDepartments(batch)) {
+                found.put(dept.getId(), dept);
+            }
+        }
+
+        Map<Long, Optional<DepartmentDTO>> loaded = new HashMap<>();
+        for (Long id : ids) {
+            Optional<DepartmentDTO> dept = Optional.ofNullable(found.get(id));
+            putIfCurrent(id, dept, started);
+            loaded.put(id, dept);
+        }
+        return loaded;
+    }
+
+    /**
+     * Store a loaded value unless an eviction happened since the load started. The second check
+     * covers an eviction that lands between the first check and the put.
+     */
+    private void putIfCurrent(Long id, Optional<DepartmentDTO> value, long started) {
+        if (generation.get() != started) {
+            return;
+        }
+        cache.put(id, value);
+        if (generation.get() != started) {
+            cache.invalidate(id);
+        }
+    }
+
+    public void evict(Long id) {
+        generation.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Gives found departments the regular TTL and 404s the negative TTL.
+     */
+    private static final class PresenceAwareExpiry implements Expiry<Long, Optional<DepartmentDTO>> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private PresenceAwareExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long key, Optional<DepartmentDTO> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<DepartmentDTO> value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<DepartmentDTO> value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.employee.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key into one call.
+ * The first caller for a key (the leader) runs the loader; callers arriving while it is
+ * in flight wait for it and receive the same value or the same exception.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public SingleFlight(MeterRegistry meterRegistry, String name) {
+        this.leaders = Counter.builder("singleflight.requests")
+                .description("Lookups that ran the loader themselves")
+                .tag("name", name)
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("singleflight.requests")
+                .description("Lookups that joined a load already in flight")
+                .tag("name", name)
+                .tag("role", "coalesced")
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Batch variant: keys nobody is loading are passed to {@code loader} in one call,
+     * keys already in flight are awaited. Keys the loader leaves out map to nothing.
+     */
+    public Map<K, V> executeAll(Collection<K> keys, Function<Collection<K>, Map<K, V>> loader) {
+        Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> joined = new LinkedHashMap<>();
+
+        for (K key : new LinkedHashSet<>(keys)) {
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                joined.put(key, existing);
+            } else {
+                owned.put(key, future);
+            }
+        }
+
+        Map<K, V> result = new HashMap<>();
+        if (!owned.isEmpty()) {
+            leaders.increment(owned.size());
+            try {
+                Map<K, V> loaded = loader.apply(new ArrayList<>(owned.keySet()));
+                owned.forEach((key, future) -> {
+                    V value = loaded.get(key);
+                    future.complete(value);
+                    if (value != null) {
+                        result.put(key, value);
+                    }
+                });
+            } catch (RuntimeException | Error e) {
+                owned.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+
+        if (!joined.isEmpty()) {
+            coalesced.increment(joined.size());
+            joined.forEach((key, future) -> {
+                V value = await(future);
+                if (value != null) {
+                    result.put(key, value);
+                }
+            });
+        }
+        return result;
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
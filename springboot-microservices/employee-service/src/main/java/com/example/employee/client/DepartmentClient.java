@@ -1,13 +1,27 @@
 package com.example.employee.client;
 
+import com.example.employee.config.CborFeignConfig;
 import com.example.employee.dto.DepartmentDTO;
+import com.example.employee.dto.PageResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "DEPARTMENT-SERVICE", path = "/api/v1/departments")
+import java.util.Collection;
+import java.util.List;
+
+@FeignClient(name = "DEPARTMENT-SERVICE", path = "/api/v1/departments",
+        configuration = CborFeignConfig.class)
 public interface DepartmentClient {
 
     @GetMapping("/{id}")
     DepartmentDTO getDepartment(@PathVariable("id") Long id);
+
+    @GetMapping
+    List<DepartmentDTO> getDepartments(@RequestParam("ids") Collection<Long> ids);
+
+    @GetMapping
+    PageResponse<DepartmentDTO> getDepartmentPage(@RequestParam("page") int page,
+                                                  @RequestParam("size") int size);
 }
@@ -0,0 +1,22 @@
+package com.example.employee.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class CborConfig {
+
+    /**
+     * Serves application/cbor to callers that ask for it (the Feign clients between services).
+     * Built from Boot's builder so it shares the JSON mapper's modules and settings. It replaces
+     * the default CBOR converter in place, after the JSON one, so callers that don't ask for CBOR
+     * (everything through the gateway) keep getting JSON.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
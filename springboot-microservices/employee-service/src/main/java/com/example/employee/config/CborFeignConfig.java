@@ -0,0 +1,23 @@
+package com.example.employee.config;
+
+import feign.RequestInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Feign client configuration asking for CBOR bodies, with JSON as the fallback for instances that
+ * can't produce it yet. Responses are decoded by the same message converters, so no decoder change
+ * is needed. Not a {@code @Configuration} on purpose: it applies only to the clients that name it.
+ */
+public class CborFeignConfig {
+
+    static final String ACCEPT = "application/cbor, application/json;q=0.9";
+
+    @Bean
+    public RequestInterceptor cborAcceptInterceptor() {
+        return template -> {
+            template.removeHeader(HttpHeaders.ACCEPT);
+            template.header(HttpHeaders.ACCEPT, ACCEPT);
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.employee.config;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+
+@Configuration
+public class EnrichmentConfig {
+
+    /**
+     * Dedicated pool for department lookups so slow enrichment can't starve request threads.
+     * Tasks are rejected rather than queued without bound; rejected lookups count as not enriched.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor departmentEnrichmentExecutor(
+            @Value("${department.enrichment.pool-size:16}") int poolSize,
+            @Value("${department.enrichment.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dept-enrich-");
+        executor.setTaskDecorator(task -> {
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            return () -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    task.run();
+                } finally {
+                    MDC.clear();
+                }
+            };
+        });
+        executor.initialize();
+        return executor;
+    }
+}
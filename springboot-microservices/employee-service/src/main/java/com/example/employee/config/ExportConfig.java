@@ -0,0 +1,43 @@
+package com.example.employee.config;
+
+import com.example.employee.controller.ExportTasks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+
+@Configuration
+public class ExportConfig {
+
+    private final Duration timeout;
+    private final int poolSize;
+
+    public ExportConfig(@Value("${employee.export.timeout:10m}") Duration timeout,
+                        @Value("${employee.export.pool-size:4}") int poolSize) {
+        this.timeout = timeout;
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Writes export responses off the request thread. Only {@link ExportTasks} submits here and it
+     * admits at most one export per thread, so the short queue only bridges a thread that has
+     * released its permit but not yet returned to the pool.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor exportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(poolSize);
+        executor.setThreadNamePrefix("export-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ExportTasks exportTasks() {
+        return new ExportTasks(exportExecutor(), poolSize, timeout);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.employee.config;
+
+import com.example.employee.idempotency.IdempotencyStore;
+import com.example.employee.idempotency.IdempotentExecutor;
+import com.example.employee.idempotency.InMemoryIdempotencyStore;
+import com.example.employee.idempotency.RedisIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Picks the Idempotency-Key store: "memory" keeps keys per instance, "redis" shares them between
+ * replicas behind the gateway.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    private final Duration ttl;
+    private final Duration lease;
+
+    public IdempotencyConfig(@Value("${employee.idempotency.ttl:24h}") Duration ttl,
+                             @Value("${employee.idempotency.lease:30s}") Duration lease) {
+        this.ttl = ttl;
+        this.lease = lease;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(
+            @Value("${employee.idempotency.max-entries:100000}") long maxEntries) {
+        return new InMemoryIdempotencyStore(ttl, lease, maxEntries);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.idempotency.store", havingValue = "redis")
+    public IdempotencyStore redisIdempotencyStore(StringRedisTemplate redis) {
+        return new RedisIdempotencyStore(redis, ttl, lease);
+    }
+
+    @Bean
+    public IdempotentExecutor idempotentExecutor(IdempotencyStore store, ObjectMapper objectMapper,
+                                                 @Value("${employee.idempotency.wait:10s}") Duration wait) {
+        return new IdempotentExecutor(store, objectMapper, wait);
+    }
+}
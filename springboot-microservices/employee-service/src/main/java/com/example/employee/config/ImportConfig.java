@@ -0,0 +1,25 @@
+package com.example.employee.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ImportConfig {
+
+    /**
+     * Runs CSV imports one at a time: each is one long transaction writing most of the table,
+     * so parallel imports would only contend. Uploads beyond the queue are rejected.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importExecutor(@Value("${employee.import.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-");
+        executor.initialize();
+        return executor;
+    }
+}
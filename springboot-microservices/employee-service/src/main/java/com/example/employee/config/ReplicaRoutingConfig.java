@@ -0,0 +1,98 @@
+package com.example.employee.config;
+
+import com.example.employee.datasource.ReplicaLagMonitor;
+import com.example.employee.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured pool with a primary pool plus one pool per replica URL, routed by
+ * {@link ReplicaRoutingDataSource}. All pools take their settings from spring.datasource.hikari
+ * and report hikaricp.* metrics tagged with their pool name. Service code is unchanged:
+ * {@code @Transactional(readOnly = true)} is what sends a query to a replica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class ReplicaRoutingConfig implements DisposableBean {
+
+    private final DataSourceProperties properties;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final Map<String, DataSource> replicas = new LinkedHashMap<>();
+
+    public ReplicaRoutingConfig(DataSourceProperties properties, Environment environment,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Value("${datasource.routing.replica-urls}") List<String> replicaUrls,
+            @Value("${datasource.routing.max-lag:PT5S}") Duration maxLag) {
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource replica = pool(name, replicaUrls.get(i));
+            replica.setReadOnly(true);
+            // A replica that is down at startup is just bypassed until it comes back
+            replica.setInitializationFailTimeout(-1);
+            replicas.put(name, replica);
+        }
+        return new ReplicaLagMonitor(replicas, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaLagMonitor lagMonitor,
+                                 @Value("${datasource.routing.read-your-writes-window:PT5S}") Duration window) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaRoutingDataSource.PRIMARY, pool(ReplicaRoutingDataSource.PRIMARY, properties.determineUrl()));
+        targets.putAll(replicas);
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                List.copyOf(replicas.keySet()), lagMonitor, window);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(targets.get(ReplicaRoutingDataSource.PRIMARY));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource pool(String name, String url) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        pools.add(pool);
+        return pool;
+    }
+}
@@ -1,14 +1,24 @@
 package com.example.employee.controller;
 
 import com.example.employee.dto.*;
+import com.example.employee.idempotency.IdempotentExecutor;
+import com.example.employee.service.EmployeeExportService;
 import com.example.employee.service.EmployeeService;
+import com.example.exception.common.ValidationException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/employees")
@@ -16,6 +26,9 @@ import org.springframework.web.bind.annotation.*;
 public class EmployeeController {
 
     private final EmployeeService service;
+    private final EmployeeExportService exportService;
+    private final ExportTasks exportTasks;
+    private final IdempotentExecutor idempotentExecutor;
 
     @GetMapping
     public PageResponse<EmployeeDTO> all(
@@ -24,27 +37,66 @@ public class EmployeeController {
             @RequestParam(defaultValue = "id,asc") String sort,
             @RequestParam(required = false) String email,
             @RequestParam(required = false) String lastName,
-            @RequestParam(required = false) Long departmentId) {
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count,
+            WebRequest request) {
 
-        Pageable pageable = createPageable(page, size, sort);
         EmployeeSearchRequest filters = new EmployeeSearchRequest();
         filters.setEmail(email);
         filters.setLastName(lastName);
         filters.setDepartmentId(departmentId);
+        FieldSelection selection = FieldSelection.parse(fields, expand);
 
-        return service.getAll(pageable, filters);
+        // Passing cursor (empty for the first page) switches to keyset paging
+        if (cursor != null) {
+            Sort keysetSort = createSort(sort);
+            PageResponse.checkSize(size);
+            return service.ifListChanged(selection, request::checkNotModified,
+                    () -> service.getAllKeyset(filters, cursor, size, keysetSort, selection));
+        }
+        Pageable pageable = createPageable(page, size, sort);
+        CountMode countMode = CountMode.parse(count);
+        // null once checkNotModified has turned the response into a 304
+        return service.ifListChanged(selection, request::checkNotModified,
+                () -> service.getAll(pageable, filters, selection, countMode));
     }
 
     @GetMapping("/{id}")
-    public EmployeeDTO byId(@PathVariable Long id) {
-        return service.getById(id);
+    public EmployeeDTO byId(@PathVariable Long id,
+                            @RequestParam(required = false) String fields,
+                            @RequestParam(required = false) String expand,
+                            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields, expand);
+        return service.ifChanged(id, selection, request::checkNotModified,
+                () -> service.getById(id, selection));
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public EmployeeDTO create(@Valid @RequestBody EmployeeDTO dto,
                               @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
-        return service.create(dto, idempotencyKey);
+        return idempotentExecutor.execute("create-employee", idempotencyKey, EmployeeDTO.class,
+                () -> service.create(dto));
+    }
+
+    /**
+     * Create up to employee.bulk.max-items employees; the response reports each item's outcome.
+     * A missing or null body reaches the service, which rejects it as a validation error.
+     */
+    @PostMapping("/bulk")
+    public BulkCreateResponse createAll(@RequestBody(required = false) List<EmployeeDTO> dtos) {
+        return service.createAll(dtos);
+    }
+
+    /**
+     * Move a department's employees to another department in one statement.
+     */
+    @PostMapping("/reassign")
+    public ReassignResponse reassign(@Valid @RequestBody ReassignRequest request) {
+        return service.reassign(request);
     }
 
     @PutMapping("/{id}")
@@ -68,10 +120,57 @@ public class EmployeeController {
             @RequestParam String q,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "id,asc") String sort) {
+            @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String count,
+            WebRequest request) {
 
+        FieldSelection selection = FieldSelection.parse(fields, expand);
+        if (cursor != null) {
+            Sort keysetSort = createSort(sort);
+            PageResponse.checkSize(size);
+            return service.ifListChanged(selection, request::checkNotModified,
+                    () -> service.searchKeyset(q, cursor, size, keysetSort, selection));
+        }
         Pageable pageable = createPageable(page, size, sort);
-        return service.search(q, pageable);
+        CountMode countMode = CountMode.parse(count);
+        // null once checkNotModified has turned the response into a 304
+        return service.ifListChanged(selection, request::checkNotModified,
+                () -> service.search(q, pageable, selection, countMode));
+    }
+
+    @GetMapping("/suggest")
+    public List<EmployeeSuggestion> suggest(@RequestParam String prefix,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        return service.suggest(prefix, limit);
+    }
+
+    @GetMapping("/export")
+    public WebAsyncTask<Void> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String lastName,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) String expand,
+            HttpServletResponse response) {
+
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        EmployeeSearchRequest filters = new EmployeeSearchRequest();
+        filters.setEmail(email);
+        filters.setLastName(lastName);
+        filters.setDepartmentId(departmentId);
+        boolean expandDepartment = FieldSelection.parse(null, expand).isExpandDepartment();
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("employees." + exportFormat.getExtension())
+                .build()
+                .toString());
+        return exportTasks.start(response,
+                out -> exportService.export(exportFormat, filters, expandDepartment, out));
     }
 
     @GetMapping("/stats")
@@ -80,10 +179,13 @@ public class EmployeeController {
     }
 
     private Pageable createPageable(int page, int size, String sort) {
-        String[] sortParts = sort.split(",");
-        String field = sortParts[0];
-        Sort.Direction direction = sortParts.length > 1 && "desc".equalsIgnoreCase(sortParts[1])
-                ? Sort.Direction.DESC : Sort.Direction.ASC;
-        return PageRequest.of(page, size, Sort.by(direction, field));
+        if (page < 0) {
+            throw new ValidationException("page", "page must not be negative");
+        }
+        return PageRequest.of(page, PageResponse.checkSize(size), createSort(sort));
+    }
+
+    private Sort createSort(String sort) {
+        return SortCatalog.EMPLOYEES.parse(sort);
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.example.employee.controller;
+
+import com.example.employee.dto.ImportErrorDTO;
+import com.example.employee.dto.ImportJobDTO;
+import com.example.employee.service.EmployeeImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * CSV imports. The upload returns 202 with the job; poll the job for progress and counts, and
+ * page through its error rows once it has finished.
+ */
+@RestController
+@RequestMapping("/api/v1/employees/imports")
+@RequiredArgsConstructor
+public class EmployeeImportController {
+
+    private static final int MAX_ERROR_PAGE_SIZE = 1000;
+
+    private final EmployeeImportService importService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> start(@RequestParam("file") MultipartFile file) {
+        ImportJobDTO job = importService.start(file);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ImportJobDTO job(@PathVariable long id) {
+        return importService.getJob(id);
+    }
+
+    @GetMapping("/{id}/errors")
+    public List<ImportErrorDTO> errors(@PathVariable long id,
+                                       @RequestParam(defaultValue = "0") int page,
+                                       @RequestParam(defaultValue = "100") int size) {
+        return importService.getErrors(id, Math.max(page, 0), Math.min(Math.max(size, 1), MAX_ERROR_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.employee.controller;
+
+import com.example.exception.common.ServiceUnavailableException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs export downloads on their own pool with their own timeout, leaving the MVC async executor
+ * and default timeout of every other endpoint alone. Each export holds a database connection
+ * while it streams, so at most one per pool thread runs and the rest are refused with 503.
+ */
+public class ExportTasks {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(30);
+
+    private final AsyncTaskExecutor executor;
+    private final Duration timeout;
+    private final Semaphore permits;
+
+    public ExportTasks(AsyncTaskExecutor executor, int maxConcurrent, Duration timeout) {
+        this.executor = executor;
+        this.timeout = timeout;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Write {@code body} to the response on the export pool, or refuse when all permits are taken.
+     */
+    public WebAsyncTask<Void> start(HttpServletResponse response, StreamingResponseBody body) {
+        if (!permits.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many exports are running; retry later",
+                    "EXPORT_LIMIT_REACHED", RETRY_AFTER);
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        WebAsyncTask<Void> task = new WebAsyncTask<>(timeout.toMillis(), executor, () -> {
+            try {
+                body.writeTo(response.getOutputStream());
+                response.flushBuffer();
+                return null;
+            } finally {
+                release.run();
+            }
+        });
+        // Also covers a task that never ran, e.g. one that timed out while waiting for a thread
+        task.onCompletion(release);
+        return task;
+    }
+}
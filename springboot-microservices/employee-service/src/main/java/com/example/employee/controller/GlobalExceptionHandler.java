@@ -1,14 +1,22 @@
 package com.example.employee.controller;
 
+import com.example.exception.common.BaseException;
+import com.example.exception.common.RequestInProgressException;
+import com.example.exception.common.ServiceUnavailableException;
+import com.example.exception.common.ValidationException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.MDC;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
@@ -63,6 +71,38 @@ public class GlobalExceptionHandler {
         return problemDetail;
     }
 
+    // The shared exceptions carry their own status; this is the advice scanned in this service
+    @ExceptionHandler(BaseException.class)
+    public ResponseEntity<ProblemDetail> handleBaseException(BaseException ex, HttpServletRequest request) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.valueOf(ex.getHttpStatus()),
+                ex.getMessage()
+        );
+
+        problemDetail.setInstance(java.net.URI.create(request.getRequestURI()));
+        problemDetail.setProperty("timestamp", ex.getTimestamp().toString());
+        problemDetail.setProperty("traceId", MDC.get("traceId"));
+        problemDetail.setProperty("errorCode", ex.getErrorCode());
+        ex.getAdditionalInfo().forEach(problemDetail::setProperty);
+        if (ex instanceof ValidationException validation && !validation.getValidationErrors().isEmpty()) {
+            problemDetail.setProperty("errors", validation.getValidationErrors());
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(ex.getHttpStatus());
+        if (ex instanceof ServiceUnavailableException unavailable && unavailable.getRetryAfter() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(unavailable.getRetryAfter().toSeconds()));
+        } else if (ex instanceof RequestInProgressException inProgress && inProgress.getRetryAfter() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(inProgress.getRetryAfter().toSeconds()));
+        }
+        return response.body(problemDetail);
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ProblemDetail> handleRejected(TaskRejectedException ex, HttpServletRequest request) {
+        return handleBaseException(new ServiceUnavailableException("Server is busy; retry later", "BUSY",
+                Duration.ofSeconds(30)), request);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ProblemDetail handleBusinessRuleViolation(IllegalArgumentException ex, HttpServletRequest request) {
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
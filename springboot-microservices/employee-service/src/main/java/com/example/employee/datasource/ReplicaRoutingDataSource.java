@@ -0,0 +1,102 @@
+package com.example.employee.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes connections of read-only transactions to a healthy replica, round robin, and everything
+ * else to the primary. Reads fall back to the primary when every replica lags too far behind or
+ * when the caller wrote recently (see {@link ReadYourWrites}).
+ * <p>
+ * A read-write transaction only counts as a write if PostgreSQL assigned it a transaction id,
+ * which happens on its first modification; the primary connection checks that just before it
+ * commits. Read-write transactions that only read, and rolled-back ones, pin nothing.
+ * <p>
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager asks for a connection before the read-only flag is bound to the thread,
+ * so the physical connection has to be chosen on first use.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<String> replicas;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Duration readYourWritesWindow;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(List<String> replicas, ReplicaLagMonitor lagMonitor,
+                                    Duration readYourWritesWindow) {
+        this.replicas = replicas;
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recordingWrites(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recordingWrites(super.getConnection(username, password));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        if (replicas.isEmpty() || ReadYourWrites.isPinned()) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            String replica = replicas.get((start + i) % replicas.size());
+            if (lagMonitor.isHealthy(replica)) {
+                return replica;
+            }
+        }
+        return PRIMARY;
+    }
+
+    private Connection recordingWrites(Connection connection) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if ("commit".equals(method.getName()) && method.getParameterCount() == 0) {
+                        boolean wrote = hasWritten(connection);
+                        connection.commit();
+                        if (wrote) {
+                            ReadYourWrites.recordWrite(readYourWritesWindow);
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static boolean hasWritten(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT txid_current_if_assigned() IS NOT NULL")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+}
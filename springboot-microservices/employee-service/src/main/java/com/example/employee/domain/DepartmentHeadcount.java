@@ -0,0 +1,23 @@
+package com.example.employee.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Maintained number of employees per department; department id 0 counts unassigned employees.
+ * Written only through {@link com.example.employee.repository.DepartmentHeadcountRepository}.
+ */
+@Entity
+@Immutable
+@Table(name = "department_headcount", schema = "employee")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DepartmentHeadcount {
+    public static final long UNASSIGNED = 0L;
+
+    @Id
+    @Column(name = "department_id")
+    private Long departmentId;
+    @Column(nullable = false)
+    private Long headcount;
+}
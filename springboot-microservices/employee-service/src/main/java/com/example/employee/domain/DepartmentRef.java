@@ -0,0 +1,25 @@
+package com.example.employee.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Replicated copy of a department, maintained from department-service events.
+ * Written only through {@link com.example.employee.repository.DepartmentRefRepository} upserts.
+ */
+@Entity
+@Immutable
+@Table(name = "department_ref", schema = "employee")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "department-refs")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DepartmentRef {
+    @Id
+    private Long id;
+    @Column(nullable = false, length = 120)
+    private String name;
+    @Column(length = 20)
+    private String code;
+}
@@ -2,13 +2,19 @@ package com.example.employee.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "employees", schema = "employee")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Employee {
+    // Pooled so inserts can be batched; allocationSize must match the sequence increment (V9)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_id_seq")
+    @SequenceGenerator(name = "employees_id_seq", sequenceName = "employees_id_seq", schema = "employee",
+            allocationSize = 50)
     private Long id;
     @Column(name = "first_name", nullable = false, length = 120)
     private String firstName;
@@ -18,4 +24,13 @@ public class Employee {
     private String email;
     @Column(name = "department_id")
     private Long departmentId;
+    @Version
+    private Long version;
+
+    // Read-only view of the replicated department; departmentId stays the owning column.
+    // Only joined in EmployeeRow projections, never loaded: it may point at a department not replicated yet.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "department_id", insertable = false, updatable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private DepartmentRef departmentRef;
 }
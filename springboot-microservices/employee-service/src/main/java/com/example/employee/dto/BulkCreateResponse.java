@@ -0,0 +1,29 @@
+package com.example.employee.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk create, with one item per submitted employee in request order.
+ */
+public record BulkCreateResponse(int created, int failed, List<Item> items) {
+
+    public enum Status { CREATED, FAILED }
+
+    /**
+     * Created items carry the employee; failed ones the error code and message a single create
+     * would have returned.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Item(int index, Status status, EmployeeDTO employee, String error, String message) {
+
+        public static Item created(int index, EmployeeDTO employee) {
+            return new Item(index, Status.CREATED, employee, null, null);
+        }
+
+        public static Item failed(int index, String error, String message) {
+            return new Item(index, Status.FAILED, null, error, message);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.employee.dto;
+
+import com.example.exception.common.ValidationException;
+
+/**
+ * How the total of a paged response is computed ({@code count=exact|estimate|none}).
+ */
+public enum CountMode {
+    /** Run a COUNT query. */
+    EXACT,
+    /** Use PostgreSQL planner statistics instead of counting. */
+    ESTIMATE,
+    /** No total at all; the response only says whether there is a next page. */
+    NONE;
+
+    public static CountMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("count", "count must be one of exact, estimate, none");
+        }
+    }
+}
@@ -6,5 +6,6 @@ import lombok.Data;
 public class DepartmentDTO {
     private Long id;
     private String name;
+    private String code;
     private String description;
 }
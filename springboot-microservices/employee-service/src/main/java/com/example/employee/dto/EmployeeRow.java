@@ -0,0 +1,27 @@
+package com.example.employee.dto;
+
+import com.example.employee.domain.Employee;
+
+/**
+ * Employee list row with the joined department_ref columns, constructed in the query so list
+ * endpoints never load managed entities.
+ */
+public record EmployeeRow(Long id, String firstName, String lastName, String email, Long departmentId,
+                          String departmentName, String departmentCode) {
+
+    /**
+     * Row of a loaded entity, without department columns: the lazy department_ref association is
+     * not touched, so this never triggers a query.
+     */
+    public static EmployeeRow of(Employee e) {
+        return new EmployeeRow(e.getId(), e.getFirstName(), e.getLastName(), e.getEmail(), e.getDepartmentId(),
+                null, null);
+    }
+
+    /**
+     * Whether the department was found in department_ref.
+     */
+    public boolean hasDepartmentRef() {
+        return departmentName != null;
+    }
+}
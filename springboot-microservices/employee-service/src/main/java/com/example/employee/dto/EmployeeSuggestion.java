@@ -0,0 +1,18 @@
+package com.example.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Type-ahead match.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeSuggestion {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+}
@@ -0,0 +1,85 @@
+package com.example.employee.dto;
+
+import com.example.exception.common.ValidationException;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Which employee fields a caller asked for ({@code fields=id,email}) and whether the
+ * department should be expanded ({@code expand=department}).
+ * Fields that are not selected are never set on the DTO and therefore never serialized; the id
+ * is always selected so every item can be told apart and fetched again.
+ */
+@Getter
+public class FieldSelection {
+
+    public static final List<String> FIELDS = List.of("id", "firstName", "lastName", "email", "departmentId");
+    private static final String ID = "id";
+    private static final String EXPAND_DEPARTMENT = "department";
+
+    private final Set<String> fields;
+    private final boolean expandDepartment;
+
+    private FieldSelection(Set<String> fields, boolean expandDepartment) {
+        this.fields = fields;
+        this.expandDepartment = expandDepartment;
+    }
+
+    /**
+     * All fields, no expansion.
+     */
+    public static FieldSelection basic() {
+        return new FieldSelection(Set.copyOf(FIELDS), false);
+    }
+
+    /**
+     * All fields with the department expanded.
+     */
+    public static FieldSelection full() {
+        return new FieldSelection(Set.copyOf(FIELDS), true);
+    }
+
+    public static FieldSelection parse(String fields, String expand) {
+        Set<String> selected = new LinkedHashSet<>();
+        if (fields == null || fields.isBlank()) {
+            selected.addAll(FIELDS);
+        } else {
+            selected.add(ID);
+            for (String field : split(fields)) {
+                if (!FIELDS.contains(field)) {
+                    throw new ValidationException("fields",
+                            String.format("Unknown field '%s'. Allowed fields: %s", field, FIELDS));
+                }
+                selected.add(field);
+            }
+        }
+
+        boolean expandDepartment = false;
+        if (expand != null && !expand.isBlank()) {
+            for (String relation : split(expand)) {
+                if (!EXPAND_DEPARTMENT.equals(relation)) {
+                    throw new ValidationException("expand",
+                            String.format("Unknown expansion '%s'. Allowed: %s", relation, EXPAND_DEPARTMENT));
+                }
+                expandDepartment = true;
+            }
+        }
+
+        return new FieldSelection(Set.copyOf(selected), expandDepartment);
+    }
+
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.employee.dto;
+
+/**
+ * CSV line rejected by an import, numbered from the header line.
+ */
+public record ImportErrorDTO(long lineNumber, String email, String reason) {
+}
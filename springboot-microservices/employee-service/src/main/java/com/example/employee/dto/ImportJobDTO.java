@@ -0,0 +1,27 @@
+package com.example.employee.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * State of a CSV import. While the file is loading, progress follows bytes read; row counts
+ * appear once the file is loaded (rowsTotal) and once it is merged (rowsImported, rowsFailed).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportJobDTO(Long id, String fileName, Status status, long bytesTotal, long bytesLoaded,
+                           Long rowsTotal, Long rowsImported, Long rowsFailed, String error,
+                           Instant createdAt, Instant finishedAt) {
+
+    public enum Status { QUEUED, LOADING, MERGING, COMPLETED, FAILED }
+
+    /**
+     * Share of the file loaded into staging, 0-100.
+     */
+    public int getProgress() {
+        if (status == Status.COMPLETED || bytesTotal == 0) {
+            return 100;
+        }
+        return (int) (bytesLoaded * 100 / bytesTotal);
+    }
+}
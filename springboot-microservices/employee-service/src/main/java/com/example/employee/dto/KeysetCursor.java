@@ -0,0 +1,83 @@
+package com.example.employee.dto;
+
+import com.example.exception.common.ValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Position after the last row of a cursor page: the sort key values and id of that row.
+ * Sent to clients as an opaque URL-safe token; the sort it was issued for is embedded
+ * so a cursor can't be replayed against a different ordering.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class KeysetCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private String sort;
+    private List<Object> values;
+    private Long id;
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    /**
+     * @param valueTypes Java type of each sort key before the id, in sort order
+     * @return the decoded cursor, or {@code null} for an empty token (first page)
+     */
+    public static KeysetCursor decode(String token, String expectedSort, List<Class<?>> valueTypes) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        KeysetCursor cursor;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token);
+            cursor = MAPPER.readValue(new String(json, StandardCharsets.UTF_8), KeysetCursor.class);
+        } catch (Exception e) {
+            throw new ValidationException("cursor", "Invalid cursor");
+        }
+
+        if (cursor.getId() == null || cursor.getValues() == null || !Objects.equals(cursor.getSort(), expectedSort)) {
+            throw new ValidationException("cursor", "Cursor does not match the requested sort");
+        }
+        if (cursor.getValues().size() != valueTypes.size()) {
+            throw new ValidationException("cursor", "Cursor has the wrong number of sort values");
+        }
+
+        // Edited tokens can carry any JSON; only values of the key's type reach the seek predicate
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < valueTypes.size(); i++) {
+            Object value = cursor.getValues().get(i);
+            Object converted = null;
+            if (value != null) {
+                try {
+                    converted = MAPPER.convertValue(value, valueTypes.get(i));
+                } catch (IllegalArgumentException e) {
+                    // reported below
+                }
+            }
+            if (converted == null) {
+                throw new ValidationException("cursor", "Cursor has an invalid sort value");
+            }
+            values.add(converted);
+        }
+        cursor.setValues(values);
+        return cursor;
+    }
+}
@@ -1,31 +1,108 @@
 package com.example.employee.dto;
 
+import com.example.exception.common.ValidationException;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
+/**
+ * Page of results. Offset pages carry page/totalElements/totalPages;
+ * cursor pages carry nextCursor instead and leave the offset fields out.
+ * Pages fetched without an exact count carry hasNext, and totalEstimated when the total is a planner estimate.
+ */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResponse<T> {
+
+    /**
+     * Largest page a client may ask for, offset or cursor.
+     */
+    public static final int MAX_SIZE = 500;
+
     private List<T> content;
-    private int page;
+    private Integer page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private String sort;
+    private boolean partial; // true when some rows could not be enriched in time
+    private String nextCursor;
+    private Boolean hasNext;
+    private Boolean totalEstimated;
+
+    /**
+     * @return {@code size} when it is between 1 and {@link #MAX_SIZE}
+     * @throws ValidationException otherwise
+     */
+    public static int checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new ValidationException("size", "size must be between 1 and " + MAX_SIZE);
+        }
+        return size;
+    }
 
     public static <T> PageResponse<T> from(Page<T> page) {
+        return from(page, page.getContent());
+    }
+
+    public static <T> PageResponse<T> from(Page<?> page, List<T> content) {
         return new PageResponse<>(
-                page.getContent(),
+                content,
                 page.getNumber(),
                 page.getSize(),
                 page.getTotalElements(),
                 page.getTotalPages(),
-                page.getSort().toString()
+                page.getSort().toString(),
+                false,
+                null,
+                null,
+                null
+        );
+    }
+
+    /**
+     * Offset page read without a COUNT query.
+     *
+     * @param estimatedTotal planner estimate of the total, or {@code null} to leave totals out
+     */
+    public static <T> PageResponse<T> fromSlice(Slice<?> slice, List<T> content, Long estimatedTotal) {
+        Integer totalPages = estimatedTotal != null && slice.getSize() > 0
+                ? (int) Math.ceil((double) estimatedTotal / slice.getSize())
+                : null;
+        return new PageResponse<>(
+                content,
+                slice.getNumber(),
+                slice.getSize(),
+                estimatedTotal,
+                totalPages,
+                slice.getSort().toString(),
+                false,
+                null,
+                slice.hasNext(),
+                estimatedTotal != null ? Boolean.TRUE : null
+        );
+    }
+
+    public static <T> PageResponse<T> keyset(List<T> content, int size, Sort sort, String nextCursor) {
+        return new PageResponse<>(
+                content,
+                null,
+                size,
+                null,
+                null,
+                sort.toString(),
+                false,
+                nextCursor,
+                nextCursor != null,
+                null
         );
     }
-}
\ No newline at end of file
+}
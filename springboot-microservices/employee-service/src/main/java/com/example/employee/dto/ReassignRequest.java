@@ -0,0 +1,20 @@
+package com.example.employee.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Move employees from one department to another. Without employeeIds, everyone in the source
+ * department moves; a null source means unassigned employees.
+ */
+@Data
+public class ReassignRequest {
+    private Long fromDepartmentId;
+
+    @NotNull(message = "toDepartmentId is required")
+    private Long toDepartmentId;
+
+    private List<Long> employeeIds;
+}
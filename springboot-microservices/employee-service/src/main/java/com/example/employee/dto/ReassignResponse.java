@@ -0,0 +1,7 @@
+package com.example.employee.dto;
+
+/**
+ * Result of a department reassignment.
+ */
+public record ReassignResponse(Long fromDepartmentId, Long toDepartmentId, int reassigned) {
+}
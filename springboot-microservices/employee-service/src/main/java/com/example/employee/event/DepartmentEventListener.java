@@ -0,0 +1,63 @@
+package com.example.employee.event;
+
+import com.example.employee.cache.DepartmentCache;
+import com.example.employee.service.DepartmentRefSynchronizer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Department Event Listener
+ * Evicts cached departments and updates the department_ref read model when
+ * department-service reports a change. Every instance uses its own consumer group for
+ * cache eviction so each local cache sees every event, named by
+ * department.cache.events.instance-id so it survives restarts; the read model is shared, so it
+ * is maintained by a single service-wide group.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DepartmentEventListener {
+
+    private final DepartmentCache departmentCache;
+    private final DepartmentRefSynchronizer departmentRefSynchronizer;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "department-events",
+            groupId = "employee-service-department-cache-${department.cache.events.instance-id}",
+            properties = "auto.offset.reset=latest",
+            autoStartup = "${department.cache.events.enabled:true}")
+    public void onDepartmentEvent(String message) {
+        try {
+            JsonNode event = objectMapper.readTree(message);
+            long departmentId = event.path("id").asLong();
+            departmentCache.evict(departmentId);
+            log.debug("Evicted department {} from cache after {}", departmentId, event.path("event").asText());
+        } catch (Exception e) {
+            log.warn("Unreadable department event, clearing department cache: {}", message);
+            departmentCache.evictAll();
+        }
+    }
+
+    @KafkaListener(
+            topics = "department-events",
+            groupId = "employee-service-department-ref",
+            autoStartup = "${department.ref.events.enabled:true}")
+    public void onDepartmentChange(String message) throws Exception {
+        JsonNode event = objectMapper.readTree(message);
+        long departmentId = event.path("id").asLong();
+
+        if ("DEPARTMENT_DELETED".equals(event.path("event").asText())) {
+            departmentRefSynchronizer.remove(departmentId);
+            log.debug("Removed department {} from department_ref", departmentId);
+        } else if (event.hasNonNull("name")) {
+            departmentRefSynchronizer.apply(departmentId, event.get("name").asText(),
+                    event.path("code").asText(null));
+            log.debug("Upserted department {} into department_ref", departmentId);
+        }
+    }
+}
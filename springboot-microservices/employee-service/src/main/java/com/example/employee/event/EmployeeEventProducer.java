@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Employee Event Producer
@@ -29,6 +31,30 @@ public class EmployeeEventProducer {
         log.info("Sent employee updated event: {}", message);
     }
 
+    /**
+     * One event for a bulk move, sent once the current transaction commits so a rolled-back move
+     * is never announced.
+     */
+    public void sendEmployeesReassignedEvent(Long fromDepartmentId, Long toDepartmentId, long count) {
+        String message = String.format(
+                "{\"event\":\"EMPLOYEES_REASSIGNED\",\"fromDepartmentId\":%s,\"toDepartmentId\":%d,\"count\":%d}",
+                fromDepartmentId, toDepartmentId, count);
+        Runnable send = () -> {
+            kafkaTemplate.send(TOPIC, message);
+            log.info("Sent employees reassigned event: {}", message);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send.run();
+            }
+        });
+    }
+
     public void sendEmployeeDeletedEvent(Long employeeId) {
         String message = String.format("{\"event\":\"EMPLOYEE_DELETED\",\"id\":%d}", employeeId);
         kafkaTemplate.send(TOPIC, message);
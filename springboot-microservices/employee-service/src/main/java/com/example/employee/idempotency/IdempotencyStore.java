@@ -0,0 +1,52 @@
+package com.example.employee.idempotency;
+
+import java.time.Duration;
+
+/**
+ * Remembers the responses of requests sent with an Idempotency-Key. A key is first reserved by
+ * the request that runs, which then completes it with its response or releases it when it
+ * fails. Duplicates arriving meanwhile wait for that outcome instead of running as well.
+ * Completed keys expire after a TTL; reservations expire after a lease, so a key held by a
+ * request that never finishes frees up eventually.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Reserve the key, waiting up to {@code wait} while another request holds it.
+     *
+     * @return {@link Claim.Status#ACQUIRED} when the caller must run the request and then call
+     * {@link #complete} or {@link #release}; {@link Claim.Status#COMPLETED} with the stored response;
+     * or {@link Claim.Status#IN_FLIGHT} when the other request did not finish in time
+     */
+    Claim reserve(String key, Duration wait);
+
+    /**
+     * Store the response of an acquired claim.
+     */
+    void complete(Claim claim, String response);
+
+    /**
+     * Give up an acquired claim so the next request with the key runs.
+     */
+    void release(Claim claim);
+
+    /**
+     * Outcome of {@link #reserve}. The token identifies the reservation of an acquired claim.
+     */
+    record Claim(String key, Status status, String token, String response) {
+
+        public enum Status { ACQUIRED, COMPLETED, IN_FLIGHT }
+
+        static Claim acquired(String key, String token) {
+            return new Claim(key, Status.ACQUIRED, token, null);
+        }
+
+        static Claim completed(String key, String response) {
+            return new Claim(key, Status.COMPLETED, null, response);
+        }
+
+        static Claim inFlight(String key) {
+            return new Claim(key, Status.IN_FLIGHT, null, null);
+        }
+    }
+}
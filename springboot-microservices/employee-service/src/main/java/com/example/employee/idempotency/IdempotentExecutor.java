@@ -0,0 +1,101 @@
+package com.example.employee.idempotency;
+
+import com.example.exception.common.RequestInProgressException;
+import com.example.exception.common.ValidationException;
+import com.example.exception.external.ExternalServiceException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per Idempotency-Key and replays its stored JSON response to
+ * duplicates. The action must commit its own transaction: the key is completed only after it
+ * returns and released when it throws, so a rolled-back request can be retried with the same key.
+ */
+@Slf4j
+public class IdempotentExecutor {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    // A duplicate that gave up has already waited; the first request is usually close to done
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration wait;
+
+    public IdempotentExecutor(IdempotencyStore store, ObjectMapper objectMapper, Duration wait) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.wait = wait;
+    }
+
+    /**
+     * @param scope operation the key belongs to, so the same key can be used on different endpoints
+     * @param key   the client's Idempotency-Key, or {@code null} to just run the action
+     */
+    public <T> T execute(String scope, String key, Class<T> type, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Idempotency-Key", "Must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        IdempotencyStore.Claim claim = reserve(scope + ":" + key);
+        switch (claim.status()) {
+            case COMPLETED -> {
+                log.debug("Replaying stored response for idempotency key: {}", key);
+                return read(claim.response(), type);
+            }
+            case IN_FLIGHT -> throw new RequestInProgressException(
+                    "A request with this Idempotency-Key is still in progress", "IDEMPOTENCY_KEY_IN_USE", RETRY_AFTER);
+            default -> {
+                // ACQUIRED: run below
+            }
+        }
+
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException | Error e) {
+            releaseQuietly(claim);
+            throw e;
+        }
+        try {
+            store.complete(claim, objectMapper.writeValueAsString(result));
+        } catch (Exception e) {
+            // The work is committed; a retry with this key after the lease would run it again
+            log.error("Could not store response for idempotency key {}: {}", key, e.getMessage(), e);
+        }
+        return result;
+    }
+
+    private IdempotencyStore.Claim reserve(String key) {
+        try {
+            return store.reserve(key, wait);
+        } catch (RuntimeException e) {
+            log.error("Could not reserve idempotency key {}: {}", key, e.getMessage(), e);
+            throw new ExternalServiceException("idempotency-store", "Unable to reserve Idempotency-Key", e);
+        }
+    }
+
+    private void releaseQuietly(IdempotencyStore.Claim claim) {
+        try {
+            store.release(claim);
+        } catch (RuntimeException e) {
+            // The reservation lapses after its lease
+            log.warn("Could not release idempotency key {}: {}", claim.key(), e.getMessage());
+        }
+    }
+
+    private <T> T read(String response, Class<T> type) {
+        try {
+            return objectMapper.readValue(response, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response is not readable", e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.employee.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency keys of this instance only, in a size-bounded Caffeine cache. Each key maps to a
+ * future that duplicates block on until the owner completes it with the response, or with null
+ * when it releases the key. Only completed keys count towards the bound: evicting a reservation
+ * would let a duplicate run the request a second time, so reservations weigh nothing and leave
+ * only through completion, release or their lease.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(Duration ttl, Duration lease, long maxEntries) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxEntries)
+                .weigher((String key, Entry entry) -> entry.result().isDone() ? 1 : 0)
+                .expireAfter(new StateAwareExpiry(ttl, lease))
+                .build();
+    }
+
+    @Override
+    public Claim reserve(String key, Duration wait) {
+        long deadline = System.nanoTime() + wait.toNanos();
+        while (true) {
+            Entry mine = new Entry(UUID.randomUUID().toString(), new CompletableFuture<>());
+            Entry existing = entries.asMap().putIfAbsent(key, mine);
+            if (existing == null) {
+                return Claim.acquired(key, mine.token());
+            }
+            String response;
+            try {
+                response = existing.result().get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return Claim.inFlight(key);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Claim.inFlight(key);
+            } catch (ExecutionException e) {
+                response = null;
+            }
+            if (response != null) {
+                return Claim.completed(key, response);
+            }
+            // Released by its owner, so try to take the key over
+        }
+    }
+
+    @Override
+    public void complete(Claim claim, String response) {
+        entries.asMap().compute(claim.key(), (key, entry) -> {
+            if (entry != null && entry.token().equals(claim.token())) {
+                entry.result().complete(response);
+                // A new instance, so the cache applies the completed TTL
+                return new Entry(entry.token(), entry.result());
+            }
+            return new Entry(claim.token(), CompletableFuture.completedFuture(response));
+        });
+    }
+
+    @Override
+    public void release(Claim claim) {
+        entries.asMap().computeIfPresent(claim.key(), (key, entry) -> {
+            if (!entry.token().equals(claim.token())) {
+                return entry;
+            }
+            entry.result().complete(null);
+            return null;
+        });
+    }
+
+    private record Entry(String token, CompletableFuture<String> result) {
+    }
+
+    /**
+     * Gives reservations the lease and completed keys the TTL.
+     */
+    private static final class StateAwareExpiry implements Expiry<String, Entry> {
+        private final long ttlNanos;
+        private final long leaseNanos;
+
+        private StateAwareExpiry(Duration ttl, Duration lease) {
+            this.ttlNanos = ttl.toNanos();
+            this.leaseNanos = lease.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Entry value, long currentTime) {
+            return value.result().isDone() ? ttlNanos : leaseNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
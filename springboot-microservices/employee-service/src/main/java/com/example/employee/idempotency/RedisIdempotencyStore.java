@@ -0,0 +1,81 @@
+package com.example.employee.idempotency;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Idempotency keys shared by every replica. A reservation is a {@code SET NX} with the lease as
+ * expiry, holding the owner's token; completing overwrites it with the response and the TTL.
+ * Duplicates poll the key with backoff until it completes, is released, or the wait runs out.
+ * Redis' maxmemory policy bounds the size; every key carries an expiry.
+ */
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String PREFIX = "employee:idempotency:";
+    private static final String RESERVED = "R";
+    private static final String COMPLETED = "C";
+    private static final long MIN_POLL_MILLIS = 20;
+    private static final long MAX_POLL_MILLIS = 250;
+
+    // Delete only the caller's own reservation, not a completed key or someone else's
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redis;
+    private final Duration ttl;
+    private final Duration lease;
+
+    public RedisIdempotencyStore(StringRedisTemplate redis, Duration ttl, Duration lease) {
+        this.redis = redis;
+        this.ttl = ttl;
+        this.lease = lease;
+    }
+
+    @Override
+    public Claim reserve(String key, Duration wait) {
+        String redisKey = PREFIX + key;
+        long deadline = System.nanoTime() + wait.toNanos();
+        long poll = MIN_POLL_MILLIS;
+        while (true) {
+            String token = UUID.randomUUID().toString();
+            if (Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(redisKey, RESERVED + token, lease))) {
+                return Claim.acquired(key, token);
+            }
+            String value = redis.opsForValue().get(redisKey);
+            if (value == null) {
+                // Released or expired since the SET NX
+                continue;
+            }
+            if (value.startsWith(COMPLETED)) {
+                return Claim.completed(key, value.substring(COMPLETED.length()));
+            }
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                return Claim.inFlight(key);
+            }
+            try {
+                Thread.sleep(Math.min(poll, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Claim.inFlight(key);
+            }
+            poll = Math.min(poll * 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    @Override
+    public void complete(Claim claim, String response) {
+        redis.opsForValue().set(PREFIX + claim.key(), COMPLETED + response, ttl);
+    }
+
+    @Override
+    public void release(Claim claim) {
+        redis.execute(RELEASE, List.of(PREFIX + claim.key()), RESERVED + claim.token());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.employee.repository;
+
+import com.example.employee.domain.DepartmentHeadcount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Headcount rows are adjusted by deltas in the transaction that writes the employee, so they
+ * commit or roll back together with it.
+ */
+public interface DepartmentHeadcountRepository extends JpaRepository<DepartmentHeadcount, Long> {
+
+    /**
+     * Query space of the native statements here; headcounts are not cached, so they leave the
+     * second-level cache alone.
+     */
+    String QUERY_SPACE = "employee.department_headcount";
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QUERY_SPACE))
+    @Query(value = "INSERT INTO employee.department_headcount (department_id, headcount) " +
+            "VALUES (:departmentId, :delta) " +
+            "ON CONFLICT (department_id) DO UPDATE " +
+            "SET headcount = employee.department_headcount.headcount + EXCLUDED.headcount",
+            nativeQuery = true)
+    void increment(@Param("departmentId") long departmentId, @Param("delta") long delta);
+
+    /**
+     * Count an employee added to (or removed from, with a negative delta) a department.
+     *
+     * @param departmentId department, or {@code null} for unassigned
+     */
+    default void adjust(Long departmentId, long delta) {
+        increment(key(departmentId), delta);
+    }
+
+    /**
+     * Move one employee between departments. Rows are updated in id order so two opposite moves
+     * cannot deadlock.
+     */
+    default void move(Long fromDepartmentId, Long toDepartmentId) {
+        move(fromDepartmentId, toDepartmentId, 1);
+    }
+
+    /**
+     * Move {@code count} employees between departments, in the same row order as a single move.
+     */
+    default void move(Long fromDepartmentId, Long toDepartmentId, long count) {
+        long from = key(fromDepartmentId);
+        long to = key(toDepartmentId);
+        if (from == to || count == 0) {
+            return;
+        }
+        if (from < to) {
+            increment(from, -count);
+            increment(to, count);
+        } else {
+            increment(to, count);
+            increment(from, -count);
+        }
+    }
+
+    /**
+     * Claim the reconcile run for this transaction; only one instance gets it at a time.
+     *
+     * @return {@code false} if another instance is reconciling
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('employee.department_headcount.reconcile'))",
+            nativeQuery = true)
+    boolean tryLockReconcileRun();
+
+    /**
+     * Block headcount adjustments until the end of the transaction. Writers that already
+     * adjusted must commit first, so the employee table seen afterwards matches the counters.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QUERY_SPACE))
+    @Query(value = "LOCK TABLE employee.department_headcount IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForReconcile();
+
+    /**
+     * Set every department's counter from the employee table.
+     *
+     * @return number of counters that were wrong or missing
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QUERY_SPACE))
+    @Query(value = "INSERT INTO employee.department_headcount (department_id, headcount) " +
+            "SELECT COALESCE(department_id, 0), count(*) FROM employee.employees " +
+            "GROUP BY COALESCE(department_id, 0) " +
+            "ON CONFLICT (department_id) DO UPDATE SET headcount = EXCLUDED.headcount " +
+            "WHERE employee.department_headcount.headcount <> EXCLUDED.headcount",
+            nativeQuery = true)
+    int reconcileCounts();
+
+    /**
+     * Remove counters of departments that no longer have employees.
+     *
+     * @return number of counters removed
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QUERY_SPACE))
+    @Query(value = "DELETE FROM employee.department_headcount h " +
+            "WHERE NOT EXISTS (SELECT 1 FROM employee.employees e " +
+            "WHERE COALESCE(e.department_id, 0) = h.department_id)",
+            nativeQuery = true)
+    int deleteEmpty();
+
+    private static long key(Long departmentId) {
+        return departmentId != null ? departmentId : DepartmentHeadcount.UNASSIGNED;
+    }
+}
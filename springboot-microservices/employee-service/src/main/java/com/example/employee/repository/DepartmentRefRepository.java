@@ -0,0 +1,52 @@
+package com.example.employee.repository;
+
+import com.example.employee.domain.DepartmentRef;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface DepartmentRefRepository extends JpaRepository<DepartmentRef, Long> {
+
+    /**
+     * Table touched by the native statements below. Declaring it limits second-level cache
+     * invalidation to this table; without it Hibernate evicts every cached entity on each statement.
+     */
+    String QUERY_SPACE = "employee.department_ref";
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QUERY_SPACE))
+    @Query(value = "INSERT INTO employee.department_ref (id, name, code, synced_at) " +
+            "VALUES (:id, :name, :code, now()) " +
+            "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, code = EXCLUDED.code, synced_at = EXCLUDED.synced_at",
+            nativeQuery = true)
+    void upsert(@Param("id") Long id, @Param("name") String name, @Param("code") String code);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QUERY_SPACE))
+    @Query(value = "DELETE FROM employee.department_ref WHERE id = :id", nativeQuery = true)
+    int deleteRef(@Param("id") Long id);
+
+    /**
+     * The database clock, for comparing with synced_at.
+     */
+    @Query(value = "SELECT now()", nativeQuery = true)
+    Instant databaseTime();
+
+    /**
+     * Remove departments not upserted since {@code since}, i.e. not seen by a full sync that started then.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QUERY_SPACE))
+    @Query(value = "DELETE FROM employee.department_ref WHERE synced_at < :since", nativeQuery = true)
+    int deleteSyncedBefore(@Param("since") Instant since);
+}
@@ -0,0 +1,94 @@
+package com.example.employee.repository;
+
+import com.example.employee.dto.EmployeeSearchRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Approximate employee counts from PostgreSQL planner statistics.
+ * Unfiltered counts read {@code pg_class.reltuples}; filtered counts read the row estimate
+ * of {@code EXPLAIN} for the same WHERE clause. Results are cached briefly per filter.
+ */
+@Slf4j
+@Repository
+public class EmployeeCountEstimator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Long> cache;
+
+    public EmployeeCountEstimator(JdbcTemplate jdbcTemplate,
+                                  ObjectMapper objectMapper,
+                                  @Value("${employee.count.estimate-ttl:30s}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public long estimate(EmployeeSearchRequest filters, String search) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (filters != null) {
+            if (filters.getEmail() != null) {
+                conditions.add("lower(email) LIKE ?");
+                args.add(contains(filters.getEmail()));
+            }
+            if (filters.getLastName() != null) {
+                conditions.add("lower(last_name) LIKE ?");
+                args.add(contains(filters.getLastName()));
+            }
+            if (filters.getDepartmentId() != null) {
+                conditions.add("department_id = ?");
+                args.add(filters.getDepartmentId());
+            }
+        }
+        if (search != null) {
+            conditions.add("(lower(first_name || ' ' || last_name) LIKE ? OR lower(email) LIKE ?)");
+            args.add(contains(search));
+            args.add(contains(search));
+        }
+
+        String where = String.join(" AND ", conditions);
+        return cache.get(where + args, key -> where.isEmpty() ? tableEstimate() : planEstimate(where, args));
+    }
+
+    private long tableEstimate() {
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = 'employee.employees'::regclass", Long.class);
+        if (rows == null || rows < 0) {
+            // Never analyzed: fall back to an exact count, which is then cached like an estimate
+            rows = jdbcTemplate.queryForObject("SELECT count(*) FROM employee.employees", Long.class);
+        }
+        return rows == null ? 0 : rows;
+    }
+
+    private long planEstimate(String where, List<Object> args) {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN (FORMAT JSON) SELECT 1 FROM employee.employees WHERE " + where,
+                String.class, args.toArray());
+        try {
+            JsonNode root = objectMapper.readTree(plan);
+            return root.path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (Exception e) {
+            log.warn("Could not read row estimate from plan: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private static String contains(String value) {
+        return "%" + value.toLowerCase() + "%";
+    }
+}
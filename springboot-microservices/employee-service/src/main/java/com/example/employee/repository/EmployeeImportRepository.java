@@ -0,0 +1,139 @@
+package com.example.employee.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Set-based CSV import: the file is streamed into a temporary staging table with COPY, checked
+ * there, and merged into employee.employees with a few statements, whatever its size. Must run
+ * inside one transaction, which the staging tables live and die with.
+ * <p>
+ * Departments are checked against department_ref, the local read model of department-service.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmployeeImportRepository {
+
+    // Text columns, so type errors become error rows instead of failing the COPY
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE import_rows (
+                line_number   BIGINT GENERATED ALWAYS AS IDENTITY,
+                first_name    TEXT,
+                last_name     TEXT,
+                email         TEXT,
+                department_id TEXT
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_SQL = """
+            COPY import_rows (first_name, last_name, email, department_id)
+            FROM STDIN WITH (FORMAT csv, HEADER true)
+            """;
+
+    // One pass over the staging rows; the joins let the planner hash instead of probing per row
+    private static final String CHECK_SQL = """
+            CREATE TEMP TABLE import_checked ON COMMIT DROP AS
+            SELECT r.line_number, r.first_name, r.last_name, r.email, r.department_id,
+                   CASE
+                       WHEN r.first_name IS NULL OR r.last_name IS NULL OR r.email IS NULL
+                           THEN 'first_name, last_name and email are required'
+                       WHEN length(r.first_name) > 120 OR length(r.last_name) > 120 OR length(r.email) > 200
+                           THEN 'value too long'
+                       WHEN r.email !~ '^[^@\\s]+@[^@\\s]+$'
+                           THEN 'invalid email'
+                       WHEN r.department_id IS NOT NULL AND r.department_id !~ '^[0-9]{1,18}$'
+                           THEN 'invalid department_id'
+                       WHEN r.department_id IS NOT NULL AND d.id IS NULL
+                           THEN 'unknown department'
+                       WHEN e.id IS NOT NULL
+                           THEN 'email already exists'
+                       WHEN row_number() OVER (PARTITION BY r.email ORDER BY r.line_number) > 1
+                           THEN 'duplicate email in file'
+                   END AS reason
+            FROM (
+                SELECT line_number,
+                       NULLIF(trim(first_name), '')    AS first_name,
+                       NULLIF(trim(last_name), '')     AS last_name,
+                       NULLIF(trim(email), '')         AS email,
+                       NULLIF(trim(department_id), '') AS department_id
+                FROM import_rows
+            ) r
+            LEFT JOIN employee.department_ref d
+                   ON d.id = CASE WHEN r.department_id ~ '^[0-9]{1,18}$' THEN r.department_id::bigint END
+            LEFT JOIN employee.employees e ON e.email = r.email
+            """;
+
+    private static final String REJECT_SQL = """
+            INSERT INTO employee.import_errors (job_id, line_number, email, reason)
+            SELECT ?, line_number + 1, email, reason FROM import_checked WHERE reason IS NOT NULL
+            """;
+
+    // ON CONFLICT covers emails created by other writers after the check; those lines are rejected too
+    private static final String MERGE_SQL = """
+            WITH inserted AS (
+                INSERT INTO employee.employees (first_name, last_name, email, department_id)
+                SELECT first_name, last_name, email, department_id::bigint
+                FROM import_checked
+                WHERE reason IS NULL
+                ORDER BY line_number
+                ON CONFLICT (email) DO NOTHING
+                RETURNING email, department_id
+            ), counted AS (
+                INSERT INTO employee.department_headcount (department_id, headcount)
+                SELECT COALESCE(department_id, 0), count(*)
+                FROM inserted
+                GROUP BY COALESCE(department_id, 0)
+                ORDER BY 1
+                ON CONFLICT (department_id) DO UPDATE
+                SET headcount = employee.department_headcount.headcount + EXCLUDED.headcount
+            ), conflicts AS (
+                INSERT INTO employee.import_errors (job_id, line_number, email, reason)
+                SELECT ?, c.line_number + 1, c.email, 'email already exists'
+                FROM import_checked c
+                WHERE c.reason IS NULL
+                  AND NOT EXISTS (SELECT 1 FROM inserted i WHERE i.email = c.email)
+            )
+            SELECT count(*) FROM inserted
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stream a CSV with a header line and the columns first_name, last_name, email, department_id
+     * into the staging table.
+     *
+     * @return number of data lines loaded
+     */
+    public long load(InputStream csv) {
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            try {
+                return con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, csv);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        // Temporary tables are never analyzed automatically
+        jdbcTemplate.execute("ANALYZE import_rows");
+        return rows != null ? rows : 0;
+    }
+
+    /**
+     * Reject invalid lines into import_errors and insert the rest.
+     *
+     * @return number of employees inserted
+     */
+    public long merge(long jobId) {
+        jdbcTemplate.execute(CHECK_SQL);
+        jdbcTemplate.update(REJECT_SQL, jobId);
+        Long inserted = jdbcTemplate.queryForObject(MERGE_SQL, Long.class, jobId);
+        return inserted != null ? inserted : 0;
+    }
+}
@@ -1,39 +1,81 @@
 package com.example.employee.repository;
 
 import com.example.employee.domain.Employee;
+import com.example.employee.dto.EmployeeSearchRequest;
+import com.example.employee.search.IndexedEmployee;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeRepositoryCustom {
     boolean existsByEmail(String email);
     boolean existsByEmailAndIdNot(String email, Long id);
 
+    /**
+     * Which of the given emails are already taken, in one query.
+     */
+    @Query("select e.email from Employee e where e.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     Page<Employee> findByEmailContainingIgnoreCase(String email, Pageable pageable);
     Page<Employee> findByLastNameContainingIgnoreCase(String lastName, Pageable pageable);
     Page<Employee> findByDepartmentId(Long departmentId, Pageable pageable);
 
-    @Query("SELECT e FROM Employee e WHERE " +
-            "(:email IS NULL OR LOWER(e.email) LIKE LOWER(CONCAT('%', :email, '%'))) AND " +
-            "(:lastName IS NULL OR LOWER(e.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))) AND " +
-            "(:departmentId IS NULL OR e.departmentId = :departmentId)")
-    Page<Employee> findWithFilters(@Param("email") String email,
-                                   @Param("lastName") String lastName,
-                                   @Param("departmentId") Long departmentId,
-                                   Pageable pageable);
-
-    @Query("SELECT e FROM Employee e WHERE " +
-            "LOWER(CONCAT(e.firstName, ' ', e.lastName)) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-            "LOWER(e.email) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Employee> searchByNameOrEmail(@Param("search") String search, Pageable pageable);
-
-    @Query("SELECT COUNT(e) FROM Employee e")
-    Long countTotal();
-
-    @Query("SELECT e.departmentId, COUNT(e) FROM Employee e WHERE e.departmentId IS NOT NULL GROUP BY e.departmentId")
-    List<Object[]> countByDepartment();
+    // Enough to compute the ETag without loading the employee
+    @Query("SELECT e.version FROM Employee e WHERE e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Load the employee for a write, locking its row so concurrent writes of the same employee
+     * see each other's department change and keep the headcounts exact.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Employee e WHERE e.id = :id")
+    Optional<Employee> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Case-insensitive substring filters; only the filters that are set end up in the SQL.
+     */
+    default Page<Employee> findWithFilters(String email, String lastName, Long departmentId, Pageable pageable) {
+        EmployeeSearchRequest filters = new EmployeeSearchRequest();
+        filters.setEmail(email);
+        filters.setLastName(lastName);
+        filters.setDepartmentId(departmentId);
+        return findAll(EmployeeSpecifications.matching(filters, null), pageable);
+    }
+
+    /**
+     * Case-insensitive substring match on "first last" or email.
+     */
+    default Page<Employee> searchByNameOrEmail(String search, Pageable pageable) {
+        return findAll(EmployeeSpecifications.nameOrEmailContains(search), pageable);
+    }
+
+    /**
+     * All employees as index rows. Must be consumed inside a transaction; rows are fetched from the
+     * server in batches and are not attached to the persistence context.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.employee.search.IndexedEmployee(e.id, e.firstName, e.lastName, e.email, e.departmentId) " +
+            "FROM Employee e")
+    Stream<IndexedEmployee> streamForIndex();
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.example.employee.repository;
+
+import com.example.employee.dto.EmployeeRow;
+import com.example.employee.dto.EmployeeSearchRequest;
+import com.example.employee.dto.KeysetCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * List queries reading {@link EmployeeRow} projections joined with department_ref.
+ * Rows are not entities, so they skip the persistence context and dirty-check snapshots.
+ *
+ * @see EmployeeSpecifications
+ */
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Offset page with an exact count.
+     *
+     * @param filters optional field filters
+     * @param search  optional name/email search term
+     */
+    Page<EmployeeRow> findRows(EmployeeSearchRequest filters, String search, Pageable pageable);
+
+    /**
+     * Offset page without a COUNT query; reads one extra row to know whether a next page exists.
+     */
+    Slice<EmployeeRow> findRowSlice(EmployeeSearchRequest filters, String search, Pageable pageable);
+
+    /**
+     * Exact number of rows matching the same filters as {@link #findRows}.
+     */
+    long countRows(EmployeeSearchRequest filters, String search);
+
+    /**
+     * Seek-based page: rows strictly after {@code after} in {@code sort} order (id breaks ties).
+     *
+     * @param after position of the previous page's last row, or {@code null} for the first page
+     */
+    List<EmployeeRow> findRowKeyset(EmployeeSearchRequest filters, String search, Sort sort,
+                                    KeysetCursor after, int limit);
+
+    /**
+     * Up to {@code limit} rows in id order whose name or email starts with the prefix.
+     *
+     * @see EmployeeSpecifications#nameOrEmailStartsWith
+     */
+    List<EmployeeRow> findRowsStartingWith(String prefix, int limit);
+
+    /**
+     * Rows for the given ids, in no particular order.
+     */
+    List<EmployeeRow> findRowsByIds(Collection<Long> ids);
+
+    /**
+     * All matching rows in id order, fetched from a server-side cursor in batches.
+     * Must be consumed and closed inside a transaction.
+     */
+    Stream<EmployeeRow> streamRows(EmployeeSearchRequest filters);
+}
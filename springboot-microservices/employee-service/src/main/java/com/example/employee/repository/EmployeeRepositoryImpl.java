@@ -0,0 +1,202 @@
+package com.example.employee.repository;
+
+import com.example.employee.domain.DepartmentRef;
+import com.example.employee.domain.Employee;
+import com.example.employee.dto.EmployeeRow;
+import com.example.employee.dto.EmployeeSearchRequest;
+import com.example.employee.dto.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Hand-written queries for {@link EmployeeRepository}.
+ */
+class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<EmployeeRow> findRows(EmployeeSearchRequest filters, String search, Pageable pageable) {
+        List<EmployeeRow> content = entityManager.createQuery(rowQuery(filters, search, pageable.getSort()))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> countRows(filters, search));
+    }
+
+    @Override
+    public Slice<EmployeeRow> findRowSlice(EmployeeSearchRequest filters, String search, Pageable pageable) {
+        List<EmployeeRow> rows = entityManager.createQuery(rowQuery(filters, search, pageable.getSort()))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public List<EmployeeRow> findRowKeyset(EmployeeSearchRequest filters, String search, Sort sort,
+                                           KeysetCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeRow> query = cb.createQuery(EmployeeRow.class);
+        Root<Employee> root = query.from(Employee.class);
+
+        List<Predicate> predicates = new ArrayList<>(List.of(filterPredicates(cb, query, root, filters, search)));
+        List<Sort.Order> orders = withIdTiebreak(sort);
+        if (after != null) {
+            predicates.add(seek(cb, root, orders, after));
+        }
+
+        query.select(row(cb, root))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(QueryUtils.toOrders(Sort.by(orders), root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<EmployeeRow> findRowsStartingWith(String prefix, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeRow> query = cb.createQuery(EmployeeRow.class);
+        Root<Employee> root = query.from(Employee.class);
+        query.select(row(cb, root))
+                .where(EmployeeSpecifications.nameOrEmailStartsWith(prefix).toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<EmployeeRow> findRowsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeRow> query = cb.createQuery(EmployeeRow.class);
+        Root<Employee> root = query.from(Employee.class);
+        query.select(row(cb, root)).where(root.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public Stream<EmployeeRow> streamRows(EmployeeSearchRequest filters) {
+        return entityManager.createQuery(rowQuery(filters, null, Sort.by("id")))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<EmployeeRow> rowQuery(EmployeeSearchRequest filters, String search, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeRow> query = cb.createQuery(EmployeeRow.class);
+        Root<Employee> root = query.from(Employee.class);
+        return query.select(row(cb, root))
+                .where(filterPredicates(cb, query, root, filters, search))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+    }
+
+    @Override
+    public long countRows(EmployeeSearchRequest filters, String search) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Employee> root = query.from(Employee.class);
+        query.select(cb.count(root)).where(filterPredicates(cb, query, root, filters, search));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static CompoundSelection<EmployeeRow> row(CriteriaBuilder cb, Root<Employee> root) {
+        Join<Employee, DepartmentRef> department = root.join("departmentRef", JoinType.LEFT);
+        return cb.construct(EmployeeRow.class,
+                root.get("id"),
+                root.get("firstName"),
+                root.get("lastName"),
+                root.get("email"),
+                root.get("departmentId"),
+                department.get("name"),
+                department.get("code"));
+    }
+
+    private static Predicate[] filterPredicates(CriteriaBuilder cb, CriteriaQuery<?> query, Root<Employee> root,
+                                                EmployeeSearchRequest filters, String search) {
+        Predicate predicate = EmployeeSpecifications.matching(filters, search).toPredicate(root, query, cb);
+        return predicate == null ? new Predicate[0] : new Predicate[]{predicate};
+    }
+
+    /**
+     * Expanded row-value comparison {@code (k1, ..., id) > (v1, ..., lastId)}:
+     * {@code k1 > v1 OR (k1 = v1 AND k2 > v2) OR ...}, plus {@code k1 >= v1} so the
+     * planner can start an index range scan at the cursor.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate seek(CriteriaBuilder cb, Root<Employee> root, List<Sort.Order> orders, KeysetCursor after) {
+        List<Comparable> values = new ArrayList<>();
+        for (int i = 0; i < orders.size() - 1; i++) {
+            values.add((Comparable) after.getValues().get(i));
+        }
+        values.add(after.getId());
+
+        List<Predicate> alternatives = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            List<Predicate> terms = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                terms.add(cb.equal(root.get(orders.get(j).getProperty()), values.get(j)));
+            }
+            Expression<Comparable> key = root.get(orders.get(i).getProperty());
+            terms.add(orders.get(i).isAscending()
+                    ? cb.greaterThan(key, values.get(i))
+                    : cb.lessThan(key, values.get(i)));
+            alternatives.add(cb.and(terms.toArray(Predicate[]::new)));
+        }
+
+        Expression<Comparable> first = root.get(orders.get(0).getProperty());
+        Predicate bound = orders.get(0).isAscending()
+                ? cb.greaterThanOrEqualTo(first, values.get(0))
+                : cb.lessThanOrEqualTo(first, values.get(0));
+        return cb.and(bound, cb.or(alternatives.toArray(Predicate[]::new)));
+    }
+
+    static List<Sort.Order> withIdTiebreak(Sort sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            if (!order.getProperty().equals("id")) {
+                orders.add(order);
+            }
+        }
+        Sort.Direction direction = orders.isEmpty() ? sortDirection(sort) : orders.get(0).getDirection();
+        orders.add(new Sort.Order(direction, "id"));
+        return orders;
+    }
+
+    private static Sort.Direction sortDirection(Sort sort) {
+        Sort.Order idOrder = sort.getOrderFor("id");
+        return idOrder != null ? idOrder.getDirection() : Sort.Direction.ASC;
+    }
+}
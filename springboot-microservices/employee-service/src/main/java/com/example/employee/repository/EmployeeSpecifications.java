@@ -0,0 +1,91 @@
+package com.example.employee.repository;
+
+import com.example.employee.domain.Employee;
+import com.example.employee.dto.EmployeeSearchRequest;
+import jakarta.persistence.criteria.Expression;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Employee filters as Specifications. Only the filters that are set are combined, so every filter
+ * combination renders its own SQL and PostgreSQL plans each one against the matching index.
+ * Substring filters compare {@code lower(column)} with a pattern lowered in Java, the shape of
+ * the trigram indexes.
+ */
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    /**
+     * Filters plus an optional name/email search; null arguments are skipped.
+     */
+    public static Specification<Employee> matching(EmployeeSearchRequest filters, String search) {
+        Specification<Employee> spec = Specification.where(null);
+        if (filters != null) {
+            if (filters.getEmail() != null) {
+                spec = spec.and(emailContains(filters.getEmail()));
+            }
+            if (filters.getLastName() != null) {
+                spec = spec.and(lastNameContains(filters.getLastName()));
+            }
+            if (filters.getDepartmentId() != null) {
+                spec = spec.and(inDepartment(filters.getDepartmentId()));
+            }
+        }
+        if (search != null) {
+            spec = spec.and(nameOrEmailContains(search));
+        }
+        return spec;
+    }
+
+    public static Specification<Employee> emailContains(String email) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("email")), contains(email));
+    }
+
+    public static Specification<Employee> lastNameContains(String lastName) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("lastName")), contains(lastName));
+    }
+
+    public static Specification<Employee> inDepartment(Long departmentId) {
+        return (root, query, cb) -> cb.equal(root.get("departmentId"), departmentId);
+    }
+
+    /**
+     * {@code "first last"} or email contains the text.
+     */
+    public static Specification<Employee> nameOrEmailContains(String search) {
+        return (root, query, cb) -> {
+            Expression<String> fullName = cb.concat(cb.concat(root.get("firstName"), " "), root.get("lastName"));
+            return cb.or(
+                    cb.like(cb.lower(fullName), contains(search)),
+                    cb.like(cb.lower(root.get("email")), contains(search)));
+        };
+    }
+
+    /**
+     * First name, last name, {@code "first last"} or email starts with the text. A first name
+     * starting with it means the full name does too, so that column needs no term of its own.
+     */
+    public static Specification<Employee> nameOrEmailStartsWith(String prefix) {
+        return (root, query, cb) -> {
+            Expression<String> fullName = cb.concat(cb.concat(root.get("firstName"), " "), root.get("lastName"));
+            String pattern = startsWith(prefix);
+            return cb.or(
+                    cb.like(cb.lower(fullName), pattern, '\\'),
+                    cb.like(cb.lower(root.get("lastName")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("email")), pattern, '\\'));
+        };
+    }
+
+    private static String startsWith(String value) {
+        String escaped = value.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+
+    private static String contains(String value) {
+        return "%" + value.toLowerCase() + "%";
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.employee.repository;
+
+import com.example.employee.domain.Employee;
+import com.example.employee.dto.EmployeeRow;
+import com.example.employee.search.IndexedEmployee;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Applies PUT and PATCH to an employee in one {@code UPDATE ... RETURNING} statement instead of
+ * loading the entity, locking it and flushing it back. The statement also returns the previous
+ * department (for the headcount) and the department_ref columns of the new one, so the response
+ * needs no further query. Department reassignment likewise moves any number of employees in one
+ * statement.
+ * <p>
+ * Runs on the connection of the surrounding JPA transaction. A duplicate email surfaces as
+ * {@link org.springframework.dao.DuplicateKeyException} from the unique constraint; an unknown id
+ * as an empty result. Since Hibernate does not see the write, the second-level cache entry is
+ * evicted after commit.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmployeeUpdateRepository {
+
+    // The CTE reads the row before the update, which RETURNING alone cannot
+    private static final String UPDATE_SQL = """
+            WITH previous AS (
+                SELECT id, department_id FROM employee.employees WHERE id = :id FOR UPDATE
+            )
+            UPDATE employee.employees e
+            SET first_name    = %s,
+                last_name     = %s,
+                email         = %s,
+                department_id = %s,
+                version       = e.version + 1
+            FROM previous p
+            WHERE e.id = p.id
+            RETURNING e.id, e.first_name, e.last_name, e.email, e.department_id, e.version,
+                      p.department_id AS previous_department_id,
+                      (SELECT d.name FROM employee.department_ref d WHERE d.id = e.department_id) AS department_name,
+                      (SELECT d.code FROM employee.department_ref d WHERE d.id = e.department_id) AS department_code
+            """;
+
+    private static final String REPLACE_SQL = UPDATE_SQL.formatted(
+            ":firstName", ":lastName", ":email", "CAST(:departmentId AS BIGINT)");
+
+    // Null parameters keep the current value
+    private static final String PATCH_SQL = UPDATE_SQL.formatted(
+            "COALESCE(CAST(:firstName AS VARCHAR), e.first_name)",
+            "COALESCE(CAST(:lastName AS VARCHAR), e.last_name)",
+            "COALESCE(CAST(:email AS VARCHAR), e.email)",
+            "COALESCE(CAST(:departmentId AS BIGINT), e.department_id)");
+
+    private static final String REASSIGN_SQL = """
+            UPDATE employee.employees
+            SET department_id = :to,
+                version       = version + 1
+            WHERE %s
+            RETURNING id, first_name, last_name, email, department_id
+            """;
+
+    private static final RowMapper<IndexedEmployee> MOVED_MAPPER = (rs, rowNum) -> new IndexedEmployee(
+            rs.getLong("id"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("email"),
+            rs.getObject("department_id", Long.class));
+
+    private static final RowMapper<Updated> UPDATED_MAPPER = (rs, rowNum) -> new Updated(
+            new EmployeeRow(
+                    rs.getLong("id"),
+                    rs.getString("first_name"),
+                    rs.getString("last_name"),
+                    rs.getString("email"),
+                    rs.getObject("department_id", Long.class),
+                    rs.getString("department_name"),
+                    rs.getString("department_code")),
+            rs.getObject("previous_department_id", Long.class),
+            rs.getLong("version"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Employee as stored after the update, with the department it had before.
+     */
+    public record Updated(EmployeeRow row, Long previousDepartmentId, long version) {
+    }
+
+    /**
+     * Sets every column; a null department unassigns the employee.
+     */
+    public Optional<Updated> replace(Long id, String firstName, String lastName, String email, Long departmentId) {
+        return update(REPLACE_SQL, id, firstName, lastName, email, departmentId);
+    }
+
+    /**
+     * Sets the non-null columns.
+     */
+    public Optional<Updated> patch(Long id, String firstName, String lastName, String email, Long departmentId) {
+        return update(PATCH_SQL, id, firstName, lastName, email, departmentId);
+    }
+
+    /**
+     * Moves the employees of one department, or only the listed ones among them, to another.
+     *
+     * @param fromDepartmentId source department, or {@code null} for unassigned employees
+     * @param employeeIds      restricts the move to these employees when not {@code null}
+     * @return the moved employees as stored now
+     */
+    public List<IndexedEmployee> reassign(Long fromDepartmentId, Long toDepartmentId, Collection<Long> employeeIds) {
+        String where = fromDepartmentId != null ? "department_id = :from" : "department_id IS NULL";
+        if (employeeIds != null) {
+            where += " AND id IN (:ids)";
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", fromDepartmentId)
+                .addValue("to", toDepartmentId)
+                .addValue("ids", employeeIds);
+        List<IndexedEmployee> moved = jdbcTemplate.query(REASSIGN_SQL.formatted(where), params, MOVED_MAPPER);
+        evictAfterCommit(moved.stream().map(IndexedEmployee::id).toList());
+        return moved;
+    }
+
+    private Optional<Updated> update(String sql, Long id, String firstName, String lastName, String email,
+                                     Long departmentId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("firstName", firstName)
+                .addValue("lastName", lastName)
+                .addValue("email", email)
+                .addValue("departmentId", departmentId);
+        List<Updated> updated = jdbcTemplate.query(sql, params, UPDATED_MAPPER);
+        if (updated.isEmpty()) {
+            return Optional.empty();
+        }
+        evictAfterCommit(List.of(id));
+        return Optional.of(updated.get(0));
+    }
+
+    private void evictAfterCommit(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Runnable evict = () -> ids.forEach(id -> entityManagerFactory.getCache().evict(Employee.class, id));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+}
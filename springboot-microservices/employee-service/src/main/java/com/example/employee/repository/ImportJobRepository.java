@@ -0,0 +1,103 @@
+package com.example.employee.repository;
+
+import com.example.employee.dto.ImportErrorDTO;
+import com.example.employee.dto.ImportJobDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Import job rows and their rejected lines. Job state is written in its own transaction, so
+ * progress is visible while the import's transaction is still running and survives its rollback.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ImportJobRepository {
+
+    private static final RowMapper<ImportJobDTO> JOB_MAPPER = (rs, rowNum) -> new ImportJobDTO(
+            rs.getLong("id"),
+            rs.getString("file_name"),
+            ImportJobDTO.Status.valueOf(rs.getString("status")),
+            rs.getLong("bytes_total"),
+            rs.getLong("bytes_loaded"),
+            rs.getObject("rows_total", Long.class),
+            rs.getObject("rows_imported", Long.class),
+            rs.getObject("rows_failed", Long.class),
+            rs.getString("error"),
+            toInstant(rs.getTimestamp("created_at")),
+            toInstant(rs.getTimestamp("finished_at")));
+
+    private static final RowMapper<ImportErrorDTO> ERROR_MAPPER = (rs, rowNum) -> new ImportErrorDTO(
+            rs.getLong("line_number"), rs.getString("email"), rs.getString("reason"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long create(String fileName, long bytesTotal) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "INSERT INTO employee.import_jobs (file_name, status, bytes_total) VALUES (?, ?, ?)",
+                    new String[]{"id"});
+            ps.setString(1, fileName);
+            ps.setString(2, ImportJobDTO.Status.QUEUED.name());
+            ps.setLong(3, bytesTotal);
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKeyAs(Long.class);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void loading(long jobId, long bytesLoaded) {
+        jdbcTemplate.update("UPDATE employee.import_jobs SET status = ?, bytes_loaded = ? WHERE id = ?",
+                ImportJobDTO.Status.LOADING.name(), bytesLoaded, jobId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void merging(long jobId, long bytesLoaded, long rowsTotal) {
+        jdbcTemplate.update("UPDATE employee.import_jobs SET status = ?, bytes_loaded = ?, rows_total = ? "
+                + "WHERE id = ?", ImportJobDTO.Status.MERGING.name(), bytesLoaded, rowsTotal, jobId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void completed(long jobId, long rowsImported, long rowsFailed) {
+        jdbcTemplate.update("UPDATE employee.import_jobs SET status = ?, rows_imported = ?, rows_failed = ?, "
+                        + "finished_at = now() WHERE id = ?",
+                ImportJobDTO.Status.COMPLETED.name(), rowsImported, rowsFailed, jobId);
+    }
+
+    /**
+     * Mark the job failed. Nothing was imported, and error rows written by the import were rolled back with it.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void failed(long jobId, String error) {
+        jdbcTemplate.update("UPDATE employee.import_jobs SET status = ?, rows_imported = 0, error = ?, "
+                + "finished_at = now() WHERE id = ?", ImportJobDTO.Status.FAILED.name(), error, jobId);
+    }
+
+    public Optional<ImportJobDTO> findById(long jobId) {
+        return jdbcTemplate.query("SELECT * FROM employee.import_jobs WHERE id = ?", JOB_MAPPER, jobId)
+                .stream().findFirst();
+    }
+
+    public List<ImportErrorDTO> findErrors(long jobId, long offset, int limit) {
+        return jdbcTemplate.query("SELECT line_number, email, reason FROM employee.import_errors "
+                        + "WHERE job_id = ? ORDER BY line_number LIMIT ? OFFSET ?",
+                ERROR_MAPPER, jobId, limit, offset);
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.employee.search;
+
+/**
+ * In-memory structure over employees, loaded from the table at startup and kept current by
+ * {@link EmployeeIndexMaintainer} as employees are written.
+ */
+public interface EmployeeIndex {
+
+    /**
+     * Add the employee, replacing any previous version with the same id.
+     */
+    void put(IndexedEmployee employee);
+
+    void remove(Long id);
+
+    /**
+     * Called once the initial load from the table is complete.
+     */
+    void ready();
+
+    boolean isReady();
+}
@@ -0,0 +1,169 @@
+package com.example.employee.search;
+
+import com.example.employee.domain.Employee;
+import com.example.employee.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Loads every {@link EmployeeIndex} by streaming the employee table once the application is ready,
+ * and applies employee writes to them after the transaction commits.
+ * Writes committed while the load is running win over the rows the load reads.
+ */
+@Slf4j
+@Component
+public class EmployeeIndexMaintainer {
+
+    private final List<EmployeeIndex> indexes;
+    private final EmployeeRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Ids written since the load started; null when no load is running
+    private volatile Set<Long> writtenDuringLoad;
+
+    public EmployeeIndexMaintainer(ObjectProvider<EmployeeIndex> indexes,
+                                   EmployeeRepository repository,
+                                   PlatformTransactionManager transactionManager) {
+        this.indexes = indexes.orderedStream().toList();
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        try {
+            load();
+        } catch (Exception e) {
+            // Searches stay on SQL while an index is not ready
+            log.error("Loading employee indexes failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Re-read every employee into the indexes, for writes that bypass {@link #indexed}, such as
+     * CSV imports. Entries already indexed are overwritten with the same values.
+     */
+    public void reload() {
+        if (!indexes.isEmpty()) {
+            load();
+        }
+    }
+
+    void load() {
+        writtenDuringLoad = ConcurrentHashMap.newKeySet();
+        try {
+            long started = System.currentTimeMillis();
+            Long loaded = transactionTemplate.execute(status -> {
+                long count = 0;
+                try (Stream<IndexedEmployee> rows = repository.streamForIndex()) {
+                    Iterator<IndexedEmployee> it = rows.iterator();
+                    while (it.hasNext()) {
+                        if (loadOne(it.next())) {
+                            count++;
+                        }
+                    }
+                }
+                return count;
+            });
+            indexes.forEach(EmployeeIndex::ready);
+            log.info("Loaded {} employees into {} indexes in {} ms",
+                    loaded, indexes.size(), System.currentTimeMillis() - started);
+        } finally {
+            writtenDuringLoad = null;
+        }
+    }
+
+    /**
+     * Index the saved employee once the current transaction commits.
+     */
+    public void indexed(Employee employee) {
+        indexed(IndexedEmployee.of(employee));
+    }
+
+    public void indexed(IndexedEmployee doc) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> apply(doc.id(), index -> index.put(doc)));
+    }
+
+    /**
+     * Index a batch of saved employees with one synchronization once the current transaction commits.
+     */
+    public void indexed(Collection<IndexedEmployee> docs) {
+        if (indexes.isEmpty() || docs.isEmpty()) {
+            return;
+        }
+        List<IndexedEmployee> batch = List.copyOf(docs);
+        afterCommit(() -> applyAll(batch));
+    }
+
+    /**
+     * Drop the employee from the indexes once the current transaction commits.
+     */
+    public void removed(Long id) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> apply(id, index -> index.remove(id)));
+    }
+
+    private synchronized boolean loadOne(IndexedEmployee employee) {
+        Set<Long> written = writtenDuringLoad;
+        if (written != null && written.contains(employee.id())) {
+            return false;
+        }
+        indexes.forEach(index -> index.put(employee));
+        return true;
+    }
+
+    private synchronized void apply(Long id, Consumer<EmployeeIndex> change) {
+        Set<Long> written = writtenDuringLoad;
+        if (written != null) {
+            written.add(id);
+        }
+        indexes.forEach(change);
+    }
+
+    private synchronized void applyAll(List<IndexedEmployee> docs) {
+        Set<Long> written = writtenDuringLoad;
+        for (IndexedEmployee doc : docs) {
+            if (written != null) {
+                written.add(doc.id());
+            }
+            indexes.forEach(index -> index.put(doc));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
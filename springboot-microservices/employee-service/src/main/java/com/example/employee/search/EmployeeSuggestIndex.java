@@ -0,0 +1,326 @@
+package com.example.employee.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie for type-ahead over first name, last name, "first last" and email.
+ * <p>
+ * Nodes keep their edges in parallel sorted arrays and the ids of employees whose term ends there
+ * in a {@code long[]}, so there is no per-edge map or boxed id. Suggestions walk the subtree
+ * under the prefix depth-first in label order, a node's own ids before its children's, so a whole
+ * term comes before its extensions, and stop as soon as enough employees are found.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "employee.suggest.enabled", havingValue = "true")
+public class EmployeeSuggestIndex implements EmployeeIndex {
+
+    // Object layout of a 64-bit JVM with compressed oops; objects are padded to 8 bytes
+    private static final long OBJECT_HEADER_BYTES = 12;
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long REFERENCE_BYTES = 4;
+    private static final long NODE_BYTES = align(OBJECT_HEADER_BYTES + 3 * REFERENCE_BYTES);
+    private static final long LONG_BYTES = align(OBJECT_HEADER_BYTES + 8);
+    private static final long STRING_BYTES = align(OBJECT_HEADER_BYTES + REFERENCE_BYTES + 4 + 1 + 1);
+    private static final long EMPLOYEE_BYTES = align(OBJECT_HEADER_BYTES + 5 * REFERENCE_BYTES);
+    private static final long MAP_ENTRY_BYTES = align(OBJECT_HEADER_BYTES + 4 + 3 * REFERENCE_BYTES);
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final long[] NO_IDS = new long[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<Long, IndexedEmployee> employees = new HashMap<>();
+    private long nodes = 1;
+    private long arrayBytes;
+    private long employeeBytes;
+    private volatile boolean ready;
+
+    public EmployeeSuggestIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("employee.suggest.index.nodes", this, index -> index.nodes)
+                .description("Nodes in the suggest trie")
+                .register(meterRegistry);
+        Gauge.builder("employee.suggest.index.memory", this, EmployeeSuggestIndex::memoryBytes)
+                .description("Approximate heap used by the suggest trie")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private static final class Node {
+        char[] labels = NO_LABELS;
+        Node[] children = NO_CHILDREN;
+        long[] ids = NO_IDS;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    @Override
+    public void put(IndexedEmployee employee) {
+        lock.writeLock().lock();
+        try {
+            IndexedEmployee previous = employees.put(employee.id(), employee);
+            if (previous != null) {
+                employeeBytes -= employeeBytes(previous);
+                for (String term : terms(previous)) {
+                    removeTerm(term, previous.id());
+                }
+            }
+            employeeBytes += employeeBytes(employee);
+            for (String term : terms(employee)) {
+                addTerm(term, employee.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            IndexedEmployee previous = employees.remove(id);
+            if (previous != null) {
+                employeeBytes -= employeeBytes(previous);
+                for (String term : terms(previous)) {
+                    removeTerm(term, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void ready() {
+        ready = true;
+        log.info("Employee suggest index ready with {} employees, {} nodes, ~{} KiB",
+                employees.size(), nodes, memoryBytes() / 1024);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Up to {@code limit} employees with a name or email starting with the prefix.
+     */
+    public List<IndexedEmployee> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            Set<Long> found = new LinkedHashSet<>();
+            collect(node, found, limit);
+            List<IndexedEmployee> result = new ArrayList<>(found.size());
+            for (Long id : found) {
+                result.add(employees.get(id));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap used by the trie and the employees it returns.
+     */
+    public long memoryBytes() {
+        // HashMap keeps its table at most 75% full, in a power-of-two array of at least 16 references
+        long table = employees.isEmpty() ? 0
+                : Math.max(16, Long.highestOneBit(Math.max(employees.size() * 4L / 3, 1) * 2 - 1));
+        return nodes * NODE_BYTES + arrayBytes + employeeBytes + array(table, REFERENCE_BYTES);
+    }
+
+    private void collect(Node node, Set<Long> found, int limit) {
+        for (long id : node.ids) {
+            if (found.size() >= limit) {
+                return;
+            }
+            found.add(id);
+        }
+        for (Node child : node.children) {
+            if (found.size() >= limit) {
+                return;
+            }
+            collect(child, found, limit);
+        }
+    }
+
+    private void addTerm(String term, long id) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            char label = term.charAt(i);
+            int index = Arrays.binarySearch(node.labels, label);
+            if (index < 0) {
+                index = -index - 1;
+                Node child = new Node();
+                arrayBytes -= edgeArrays(node.labels.length);
+                node.labels = insert(node.labels, index, label);
+                node.children = insert(node.children, index, child);
+                arrayBytes += edgeArrays(node.labels.length);
+                nodes++;
+            }
+            node = node.children[index];
+        }
+        for (long existing : node.ids) {
+            if (existing == id) {
+                return;
+            }
+        }
+        arrayBytes -= array(node.ids.length, 8);
+        node.ids = Arrays.copyOf(node.ids, node.ids.length + 1);
+        node.ids[node.ids.length - 1] = id;
+        arrayBytes += array(node.ids.length, 8);
+    }
+
+    private void removeTerm(String term, long id) {
+        removeTerm(root, term, 0, id);
+    }
+
+    /**
+     * @return true when the node is now empty and can be unlinked from its parent
+     */
+    private boolean removeTerm(Node node, String term, int depth, long id) {
+        if (depth == term.length()) {
+            int at = -1;
+            for (int i = 0; i < node.ids.length; i++) {
+                if (node.ids[i] == id) {
+                    at = i;
+                    break;
+                }
+            }
+            if (at >= 0) {
+                arrayBytes -= array(node.ids.length, 8);
+                node.ids = node.ids.length == 1 ? NO_IDS : remove(node.ids, at);
+                arrayBytes += array(node.ids.length, 8);
+            }
+        } else {
+            int index = Arrays.binarySearch(node.labels, term.charAt(depth));
+            if (index >= 0 && removeTerm(node.children[index], term, depth + 1, id)) {
+                arrayBytes -= edgeArrays(node.labels.length);
+                node.labels = node.labels.length == 1 ? NO_LABELS : remove(node.labels, index);
+                node.children = node.children.length == 1 ? NO_CHILDREN : remove(node.children, index);
+                arrayBytes += edgeArrays(node.labels.length);
+                nodes--;
+            }
+        }
+        return node != root && node.ids.length == 0 && node.children.length == 0;
+    }
+
+    private static Set<String> terms(IndexedEmployee employee) {
+        Set<String> terms = new LinkedHashSet<>();
+        String first = normalize(employee.firstName());
+        String last = normalize(employee.lastName());
+        terms.add(first);
+        terms.add(last);
+        terms.add(first + " " + last);
+        terms.add(normalize(employee.email()));
+        terms.remove("");
+        return terms;
+    }
+
+    /**
+     * The record, its boxed id and department id, its strings and its map entry; the map key is
+     * the record's own id.
+     */
+    private static long employeeBytes(IndexedEmployee employee) {
+        return EMPLOYEE_BYTES + MAP_ENTRY_BYTES
+                + (employee.id() != null ? LONG_BYTES : 0)
+                + (employee.departmentId() != null ? LONG_BYTES : 0)
+                + stringBytes(employee.firstName())
+                + stringBytes(employee.lastName())
+                + stringBytes(employee.email());
+    }
+
+    private static long stringBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        boolean latin1 = value.chars().allMatch(c -> c <= 0xFF);
+        return STRING_BYTES + array(value.length(), latin1 ? 1 : 2);
+    }
+
+    // A node's labels and children arrays, which grow and shrink together
+    private static long edgeArrays(int edges) {
+        return array(edges, 2) + array(edges, REFERENCE_BYTES);
+    }
+
+    // Empty arrays are the shared constants, so they cost nothing per node
+    private static long array(long length, long elementBytes) {
+        return length == 0 ? 0 : align(ARRAY_HEADER_BYTES + length * elementBytes);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static char[] insert(char[] array, int index, char value) {
+        char[] result = new char[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static Node[] insert(Node[] array, int index, Node value) {
+        Node[] result = new Node[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static char[] remove(char[] array, int index) {
+        char[] result = new char[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    private static Node[] remove(Node[] array, int index) {
+        Node[] result = new Node[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    private static long[] remove(long[] array, int index) {
+        long[] result = new long[array.length - 1];
+        System.arraycopy(array, 0, result, 0, index);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.employee.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index for employee search, enabled with {@code employee.search.engine=index}.
+ * <p>
+ * Each employee is a document over its lowercased "first last" and email. Queries of three or more
+ * characters intersect the trigram posting lists and keep the documents that contain the query,
+ * the same rows the SQL search returns. Shorter queries match word prefixes. Hits are ranked:
+ * exact match, then match at the start, then at a word start, then anywhere.
+ * <p>
+ * Updates append a new document and tombstone the old one; the index is compacted once a quarter
+ * of the documents are tombstones.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "employee.search.engine", havingValue = "index")
+public class EmployeeTextIndex implements EmployeeIndex {
+
+    private static final int GRAM = 3;
+    private static final int MAX_PREFIX = GRAM - 1;
+    private static final int COMPACT_MIN_DOCS = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> grams = new HashMap<>();
+    private final Map<String, PostingList> prefixes = new HashMap<>();
+    private final List<Document> docs = new ArrayList<>();
+    private final Map<Long, Integer> docIds = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private volatile boolean ready;
+
+    public EmployeeTextIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("employee.search.index.documents", this, EmployeeTextIndex::size)
+                .description("Live employees in the search index")
+                .register(meterRegistry);
+        Gauge.builder("employee.search.index.memory", this, EmployeeTextIndex::memoryBytes)
+                .description("Approximate heap used by the search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public record SearchResult(List<IndexedEmployee> employees, int total) {
+    }
+
+    private record Document(IndexedEmployee employee, String fullName, String email) {
+    }
+
+    private record Hit(int doc, int score, int length, long id) {
+    }
+
+    // Best hits first; on equal score shorter names, then lower ids
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparingInt(Hit::length)
+            .thenComparingLong(Hit::id);
+
+    @Override
+    public void put(IndexedEmployee employee) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = docIds.get(employee.id());
+            if (previous != null) {
+                deleted.set(previous);
+            }
+            add(employee);
+            maybeCompact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docIds.remove(id);
+            if (doc != null) {
+                deleted.set(doc);
+                maybeCompact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void ready() {
+        ready = true;
+        log.info("Employee search index ready with {} employees", size());
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked matches for the query.
+     *
+     * @param offset number of ranked hits to skip
+     * @param limit  maximum number of hits to return
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        // Keep only the best offset + limit hits while counting all of them
+        int keep = offset + limit;
+        PriorityQueue<Hit> best = new PriorityQueue<>(RANKING.reversed());
+        int total = 0;
+
+        lock.readLock().lock();
+        try {
+            PostingList candidates = q.length() >= GRAM ? gramCandidates(q) : prefixes.get(q);
+            if (candidates == null) {
+                return new SearchResult(List.of(), 0);
+            }
+            for (int i = 0; i < candidates.size(); i++) {
+                int doc = candidates.get(i);
+                if (deleted.get(doc)) {
+                    continue;
+                }
+                Document document = docs.get(doc);
+                int score = score(document, q);
+                if (score == 0) {
+                    continue;
+                }
+                total++;
+                best.add(new Hit(doc, score, document.fullName().length(), document.employee().id()));
+                if (best.size() > keep) {
+                    best.poll();
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(best);
+            ranked.sort(RANKING);
+            List<IndexedEmployee> page = ranked.subList(Math.min(offset, ranked.size()), ranked.size()).stream()
+                    .map(hit -> docs.get(hit.doc()).employee())
+                    .toList();
+            return new SearchResult(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap used by posting lists and documents, for the memory gauge.
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (PostingList list : grams.values()) {
+                bytes += list.memoryBytes();
+            }
+            for (PostingList list : prefixes.values()) {
+                bytes += list.memoryBytes();
+            }
+            for (Document doc : docs) {
+                bytes += 2L * (doc.fullName().length() + doc.email().length()) + 96;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(IndexedEmployee employee) {
+        Document document = new Document(employee,
+                normalize(employee.firstName() + " " + employee.lastName()),
+                normalize(employee.email()));
+        int doc = docs.size();
+        docs.add(document);
+        docIds.put(employee.id(), doc);
+
+        for (String gram : gramsOf(document)) {
+            grams.computeIfAbsent(gram, key -> new PostingList()).add(doc);
+        }
+        for (String prefix : prefixesOf(document)) {
+            prefixes.computeIfAbsent(prefix, key -> new PostingList()).add(doc);
+        }
+    }
+
+    private void maybeCompact() {
+        int tombstones = deleted.cardinality();
+        if (docs.size() < COMPACT_MIN_DOCS || tombstones * 4 < docs.size()) {
+            return;
+        }
+        List<Document> live = new ArrayList<>(docs.size() - tombstones);
+        for (int doc = 0; doc < docs.size(); doc++) {
+            if (!deleted.get(doc)) {
+                live.add(docs.get(doc));
+            }
+        }
+        grams.clear();
+        prefixes.clear();
+        docs.clear();
+        docIds.clear();
+        deleted.clear();
+        for (Document document : live) {
+            add(document.employee());
+        }
+        log.debug("Compacted employee search index, dropped {} tombstones", tombstones);
+    }
+
+    private PostingList gramCandidates(String q) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String gram : grams(q)) {
+            PostingList list = grams.get(gram);
+            if (list == null) {
+                return null;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        PostingList result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.size() > 0; i++) {
+            result = PostingList.intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private static int score(Document doc, String q) {
+        if (doc.fullName().equals(q) || doc.email().equals(q)) {
+            return 4;
+        }
+        if (doc.fullName().startsWith(q) || doc.email().startsWith(q)) {
+            return 3;
+        }
+        if (startsWord(doc.fullName(), q) || startsWord(doc.email(), q)) {
+            return 2;
+        }
+        // Short queries only match word prefixes
+        if (q.length() >= GRAM && (doc.fullName().contains(q) || doc.email().contains(q))) {
+            return 1;
+        }
+        return 0;
+    }
+
+    private static boolean startsWord(String text, String q) {
+        int from = 0;
+        int index;
+        while ((index = text.indexOf(q, from)) >= 0) {
+            if (index == 0 || !Character.isLetterOrDigit(text.charAt(index - 1))) {
+                return true;
+            }
+            from = index + 1;
+        }
+        return false;
+    }
+
+    private static Set<String> gramsOf(Document doc) {
+        Set<String> result = grams(doc.fullName());
+        result.addAll(grams(doc.email()));
+        return result;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private static Set<String> prefixesOf(Document doc) {
+        Set<String> result = new HashSet<>();
+        for (String text : List.of(doc.fullName(), doc.email())) {
+            for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+                for (int length = 1; length <= Math.min(MAX_PREFIX, word.length()); length++) {
+                    result.add(word.substring(0, length));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
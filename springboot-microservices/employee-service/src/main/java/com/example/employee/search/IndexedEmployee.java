@@ -0,0 +1,25 @@
+package com.example.employee.search;
+
+import com.example.employee.domain.Employee;
+import com.example.employee.dto.EmployeeRow;
+
+/**
+ * The employee columns kept by in-memory indexes.
+ */
+public record IndexedEmployee(Long id, String firstName, String lastName, String email, Long departmentId) {
+
+    public static IndexedEmployee of(Employee e) {
+        return new IndexedEmployee(e.getId(), e.getFirstName(), e.getLastName(), e.getEmail(), e.getDepartmentId());
+    }
+
+    public static IndexedEmployee of(EmployeeRow row) {
+        return new IndexedEmployee(row.id(), row.firstName(), row.lastName(), row.email(), row.departmentId());
+    }
+
+    /**
+     * As a list row; department_ref columns are not held by indexes.
+     */
+    public EmployeeRow toRow() {
+        return new EmployeeRow(id, firstName, lastName, email, departmentId, null, null);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.employee.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of document ids. Ids are appended in increasing order, so lists stay sorted
+ * and can be intersected by merging.
+ */
+final class PostingList {
+
+    private int[] docs = new int[4];
+    private int size;
+
+    void add(int doc) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+        }
+        docs[size++] = doc;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return docs[index];
+    }
+
+    long memoryBytes() {
+        return 16L + 4L * docs.length;
+    }
+
+    static PostingList intersect(PostingList a, PostingList b) {
+        PostingList result = new PostingList();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            int x = a.docs[i];
+            int y = b.docs[j];
+            if (x == y) {
+                result.add(x);
+                i++;
+                j++;
+            } else if (x < y) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result;
+    }
+}
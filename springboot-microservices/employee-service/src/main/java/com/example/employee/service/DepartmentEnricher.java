@@ -0,0 +1,129 @@
+package com.example.employee.service;
+
+import com.example.employee.cache.DepartmentCache;
+import com.example.employee.dto.DepartmentDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Resolves the departments of a page of employees.
+ * Cached departments are used directly; misses are split into batches that are fetched
+ * concurrently on a dedicated executor, at most {@code max-concurrency} at a time per request.
+ * Whatever has not arrived when the deadline passes is left out and the result is marked partial.
+ */
+@Slf4j
+@Component
+public class DepartmentEnricher {
+
+    private final DepartmentCache departmentCache;
+    private final ThreadPoolTaskExecutor executor;
+    private final int batchSize;
+    private final int maxConcurrency;
+    private final Duration deadline;
+
+    public DepartmentEnricher(DepartmentCache departmentCache,
+                              @Qualifier("departmentEnrichmentExecutor") ThreadPoolTaskExecutor executor,
+                              @Value("${department.enrichment.batch-size:50}") int batchSize,
+                              @Value("${department.enrichment.max-concurrency:4}") int maxConcurrency,
+                              @Value("${department.enrichment.deadline:800ms}") Duration deadline) {
+        this.departmentCache = departmentCache;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxConcurrency = maxConcurrency;
+        this.deadline = deadline;
+    }
+
+    public Enrichment enrich(Collection<Long> departmentIds) {
+        Map<Long, DepartmentDTO> departments = new ConcurrentHashMap<>();
+        List<Long> misses = new ArrayList<>();
+
+        Map<Long, Optional<DepartmentDTO>> cached = departmentCache.getAllCached(departmentIds);
+        for (Long id : departmentIds) {
+            Optional<DepartmentDTO> dept = cached.get(id);
+            if (dept == null) {
+                misses.add(id);
+            } else {
+                dept.ifPresent(d -> departments.put(id, d));
+            }
+        }
+
+        if (misses.isEmpty()) {
+            return new Enrichment(departments, false);
+        }
+
+        List<List<Long>> batches = new ArrayList<>();
+        for (int i = 0; i < misses.size(); i += batchSize) {
+            batches.add(misses.subList(i, Math.min(i + batchSize, misses.size())));
+        }
+
+        // Each lane runs its batches one after another, which caps in-flight calls per request
+        AtomicBoolean expired = new AtomicBoolean();
+        AtomicBoolean failed = new AtomicBoolean();
+        int laneCount = Math.min(maxConcurrency, batches.size());
+        CompletableFuture<?>[] lanes = new CompletableFuture<?>[laneCount];
+        for (int lane = 0; lane < laneCount; lane++) {
+            CompletableFuture<Void> future = CompletableFuture.completedFuture(null);
+            for (int b = lane; b < batches.size(); b += laneCount) {
+                List<Long> batch = batches.get(b);
+                future = future.thenRunAsync(() -> {
+                    if (expired.get()) {
+                        return;
+                    }
+                    try {
+                        departments.putAll(departmentCache.getAll(batch));
+                    } catch (Exception e) {
+                        failed.set(true);
+                        log.warn("Error fetching departments {}: {}", batch, e.getMessage());
+                    }
+                }, executor);
+            }
+            lanes[lane] = future;
+        }
+
+        boolean partial;
+        try {
+            CompletableFuture.allOf(lanes).get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+            partial = failed.get();
+        } catch (TimeoutException e) {
+            log.warn("Department enrichment exceeded deadline of {} for {} departments", deadline, misses.size());
+            partial = true;
+        } catch (ExecutionException e) {
+            log.warn("Department enrichment could not be scheduled: {}", e.getCause().getMessage());
+            partial = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            partial = true;
+        } finally {
+            expired.set(true);
+        }
+
+        return new Enrichment(new HashMap<>(departments), partial);
+    }
+
+    /**
+     * Departments resolved for a request, and whether some lookups were cut short.
+     */
+    public record Enrichment(Map<Long, DepartmentDTO> departments, boolean partial) {
+
+        public DepartmentDTO get(Long departmentId) {
+            return departmentId != null ? departments.get(departmentId) : null;
+        }
+    }
+}
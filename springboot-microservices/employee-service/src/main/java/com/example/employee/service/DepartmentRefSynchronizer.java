@@ -0,0 +1,92 @@
+package com.example.employee.service;
+
+import com.example.employee.client.DepartmentClient;
+import com.example.employee.dto.DepartmentDTO;
+import com.example.employee.dto.PageResponse;
+import com.example.employee.repository.DepartmentRefRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Keeps employee.department_ref in line with department-service.
+ * Events apply single changes; a full sync on startup replays the whole department list,
+ * upserting every department and removing the ones department-service no longer has.
+ * The department_ref table only feeds expand=department with department.enrichment.source=local.
+ */
+@Slf4j
+@Component
+public class DepartmentRefSynchronizer {
+
+    private final DepartmentClient departmentClient;
+    private final DepartmentRefRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean syncOnStartup;
+    private final int pageSize;
+
+    public DepartmentRefSynchronizer(DepartmentClient departmentClient,
+                                     DepartmentRefRepository repository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${department.ref.sync-on-startup:true}") boolean syncOnStartup,
+                                     @Value("${department.ref.sync-page-size:200}") int pageSize) {
+        this.departmentClient = departmentClient;
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.syncOnStartup = syncOnStartup;
+        this.pageSize = pageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void syncOnStartup() {
+        if (!syncOnStartup) {
+            return;
+        }
+        try {
+            fullSync();
+        } catch (Exception e) {
+            // Reads keep working from whatever was replicated before; events fill in the rest
+            log.warn("Initial department sync failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Replace the read model with department-service's current list. Pages are fetched outside any
+     * transaction and each is upserted in its own, so no connection or lock is held across remote
+     * calls. Departments not upserted since the sync started are removed once every page is in;
+     * a failed sync removes nothing.
+     *
+     * @return number of departments synced
+     */
+    public int fullSync() {
+        Instant started = repository.databaseTime();
+        int count = 0;
+        int page = 0;
+        PageResponse<DepartmentDTO> response;
+        do {
+            response = departmentClient.getDepartmentPage(page++, pageSize);
+            List<DepartmentDTO> departments = response.getContent();
+            transactionTemplate.executeWithoutResult(status -> departments.forEach(
+                    dept -> repository.upsert(dept.getId(), dept.getName(), dept.getCode())));
+            count += departments.size();
+        } while (page < response.getTotalPages());
+
+        int removed = repository.deleteSyncedBefore(started);
+        log.info("Synced {} departments into department_ref, removed {}", count, removed);
+        return count;
+    }
+
+    public void apply(Long departmentId, String name, String code) {
+        repository.upsert(departmentId, name, code);
+    }
+
+    public void remove(Long departmentId) {
+        repository.deleteRef(departmentId);
+    }
+}
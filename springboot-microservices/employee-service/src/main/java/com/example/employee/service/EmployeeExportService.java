@@ -0,0 +1,214 @@
+package com.example.employee.service;
+
+import com.example.employee.client.DepartmentClient;
+import com.example.employee.dto.DepartmentDTO;
+import com.example.employee.dto.EmployeeRow;
+import com.example.employee.dto.EmployeeSearchRequest;
+import com.example.employee.dto.ExportFormat;
+import com.example.employee.dto.PageResponse;
+import com.example.employee.repository.EmployeeRepository;
+import com.example.exception.external.ExternalServiceException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streams employees from a database cursor straight to the response. Rows are projections, so
+ * nothing accumulates in the persistence context and heap use does not depend on table size.
+ * With {@code expand=department}, departments come from the joined department_ref in local mode,
+ * or from one map fetched from department-service before streaming in remote mode.
+ */
+@Slf4j
+@Service
+public class EmployeeExportService {
+
+    private static final int FLUSH_EVERY = 5000;
+    private static final int DEPARTMENT_PAGE_SIZE = 500;
+
+    private final EmployeeRepository repository;
+    private final DepartmentClient departmentClient;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String departmentSource;
+
+    public EmployeeExportService(EmployeeRepository repository,
+                                 DepartmentClient departmentClient,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${department.enrichment.source:local}") String departmentSource) {
+        this.repository = repository;
+        this.departmentClient = departmentClient;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.departmentSource = departmentSource;
+    }
+
+    /**
+     * Write all employees matching the filters to {@code out}.
+     *
+     * @return number of rows written
+     */
+    public long export(ExportFormat format, EmployeeSearchRequest filters, boolean expandDepartment,
+                       OutputStream out) {
+        Map<Long, DepartmentDTO> departments = expandDepartment && !isLocalDepartmentSource()
+                ? prefetchDepartments()
+                : Map.of();
+
+        long started = System.currentTimeMillis();
+        Long written = readOnlyTransaction.execute(status -> {
+            try (Stream<EmployeeRow> rows = repository.streamRows(filters)) {
+                return format == ExportFormat.CSV
+                        ? writeCsv(rows.iterator(), expandDepartment, departments, out)
+                        : writeNdjson(rows.iterator(), expandDepartment, departments, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        long count = written != null ? written : 0;
+        log.info("Exported {} employees as {} in {} ms", count, format, System.currentTimeMillis() - started);
+        return count;
+    }
+
+    private long writeNdjson(Iterator<EmployeeRow> rows, boolean expandDepartment,
+                             Map<Long, DepartmentDTO> departments, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            // The response stream is closed by the container
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                EmployeeRow row = rows.next();
+                json.writeStartObject();
+                json.writeNumberField("id", row.id());
+                json.writeStringField("firstName", row.firstName());
+                json.writeStringField("lastName", row.lastName());
+                json.writeStringField("email", row.email());
+                if (row.departmentId() != null) {
+                    json.writeNumberField("departmentId", row.departmentId());
+                }
+                if (expandDepartment) {
+                    DepartmentDTO dept = department(row, departments);
+                    if (dept != null) {
+                        json.writeObjectFieldStart("department");
+                        json.writeNumberField("id", dept.getId());
+                        json.writeStringField("name", dept.getName());
+                        json.writeStringField("code", dept.getCode());
+                        json.writeEndObject();
+                    }
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+                if (++count % FLUSH_EVERY == 0) {
+                    json.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<EmployeeRow> rows, boolean expandDepartment,
+                          Map<Long, DepartmentDTO> departments, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(expandDepartment
+                ? "id,firstName,lastName,email,departmentId,departmentName,departmentCode\n"
+                : "id,firstName,lastName,email,departmentId\n");
+        while (rows.hasNext()) {
+            EmployeeRow row = rows.next();
+            writer.write(String.valueOf(row.id()));
+            writer.write(',');
+            writer.write(csv(row.firstName()));
+            writer.write(',');
+            writer.write(csv(row.lastName()));
+            writer.write(',');
+            writer.write(csv(row.email()));
+            writer.write(',');
+            if (row.departmentId() != null) {
+                writer.write(String.valueOf(row.departmentId()));
+            }
+            if (expandDepartment) {
+                DepartmentDTO dept = department(row, departments);
+                writer.write(',');
+                writer.write(dept != null ? csv(dept.getName()) : "");
+                writer.write(',');
+                writer.write(dept != null ? csv(dept.getCode()) : "");
+            }
+            writer.write('\n');
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private DepartmentDTO department(EmployeeRow row, Map<Long, DepartmentDTO> departments) {
+        if (row.departmentId() == null) {
+            return null;
+        }
+        if (isLocalDepartmentSource()) {
+            if (!row.hasDepartmentRef()) {
+                return null;
+            }
+            DepartmentDTO dept = new DepartmentDTO();
+            dept.setId(row.departmentId());
+            dept.setName(row.departmentName());
+            dept.setCode(row.departmentCode());
+            return dept;
+        }
+        return departments.get(row.departmentId());
+    }
+
+    /**
+     * All departments, fetched once per export instead of per row or per page.
+     */
+    private Map<Long, DepartmentDTO> prefetchDepartments() {
+        Map<Long, DepartmentDTO> departments = new HashMap<>();
+        try {
+            int page = 0;
+            PageResponse<DepartmentDTO> response;
+            do {
+                response = departmentClient.getDepartmentPage(page++, DEPARTMENT_PAGE_SIZE);
+                for (DepartmentDTO dept : response.getContent()) {
+                    departments.put(dept.getId(), dept);
+                }
+            } while (page < response.getTotalPages());
+        } catch (FeignException e) {
+            throw new ExternalServiceException("department-service",
+                    "Unable to load departments for export", e.status());
+        }
+        return departments;
+    }
+
+    private boolean isLocalDepartmentSource() {
+        return "local".equalsIgnoreCase(departmentSource);
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
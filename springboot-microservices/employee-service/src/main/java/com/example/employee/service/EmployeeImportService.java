@@ -0,0 +1,180 @@
+package com.example.employee.service;
+
+import com.example.employee.dto.ImportErrorDTO;
+import com.example.employee.dto.ImportJobDTO;
+import com.example.employee.repository.EmployeeImportRepository;
+import com.example.employee.repository.ImportJobRepository;
+import com.example.employee.search.EmployeeIndexMaintainer;
+import com.example.exception.common.ServiceUnavailableException;
+import com.example.exception.common.ValidationException;
+import com.example.exception.resource.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Runs CSV imports in the background. The upload is kept in a temporary file, then streamed into
+ * staging with COPY and merged in one transaction (see {@link EmployeeImportRepository}), so
+ * memory use does not depend on the file size and a failed import leaves no employees behind.
+ * Progress is recorded on the job row while the file loads.
+ */
+@Slf4j
+@Service
+public class EmployeeImportService {
+
+    private static final long PROGRESS_EVERY_BYTES = 16L * 1024 * 1024;
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(30);
+
+    private final ImportJobRepository jobs;
+    private final EmployeeImportRepository importRepository;
+    private final EmployeeIndexMaintainer indexMaintainer;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+
+    public EmployeeImportService(ImportJobRepository jobs,
+                                 EmployeeImportRepository importRepository,
+                                 EmployeeIndexMaintainer indexMaintainer,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier("importExecutor") ThreadPoolTaskExecutor executor) {
+        this.jobs = jobs;
+        this.importRepository = importRepository;
+        this.indexMaintainer = indexMaintainer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+    }
+
+    /**
+     * Queue an import of the uploaded CSV and return the new job.
+     */
+    public ImportJobDTO start(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new ValidationException("file", "CSV file is empty");
+        }
+        Path csv;
+        try {
+            csv = Files.createTempFile("employee-import-", ".csv");
+            file.transferTo(csv);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store uploaded CSV", e);
+        }
+
+        long size = file.getSize();
+        long jobId = jobs.create(file.getOriginalFilename(), size);
+        log.info("Queued employee import {} of {} ({} bytes)", jobId, file.getOriginalFilename(), size);
+        try {
+            executor.execute(() -> run(jobId, csv, size));
+        } catch (TaskRejectedException e) {
+            jobs.failed(jobId, "Import queue is full");
+            deleteQuietly(csv);
+            throw new ServiceUnavailableException("Too many imports are queued; retry later", "IMPORT_QUEUE_FULL",
+                    RETRY_AFTER);
+        }
+        return getJob(jobId);
+    }
+
+    public ImportJobDTO getJob(long jobId) {
+        return jobs.findById(jobId).orElseThrow(() -> new ResourceNotFoundException("Import", jobId));
+    }
+
+    public List<ImportErrorDTO> getErrors(long jobId, int page, int size) {
+        getJob(jobId);
+        return jobs.findErrors(jobId, (long) page * size, size);
+    }
+
+    void run(long jobId, Path csv, long size) {
+        long started = System.currentTimeMillis();
+        try (InputStream in = new ProgressInputStream(Files.newInputStream(csv),
+                bytes -> jobs.loading(jobId, bytes))) {
+            jobs.loading(jobId, 0);
+            Result result = transactionTemplate.execute(status -> {
+                long rows = importRepository.load(in);
+                jobs.merging(jobId, size, rows);
+                return new Result(rows, importRepository.merge(jobId));
+            });
+            jobs.completed(jobId, result.imported(), result.rows() - result.imported());
+            log.info("Employee import {} finished in {} ms: {} of {} rows imported",
+                    jobId, System.currentTimeMillis() - started, result.imported(), result.rows());
+        } catch (Exception e) {
+            String reason = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.error("Employee import {} failed: {}", jobId, reason, e);
+            jobs.failed(jobId, reason);
+            return;
+        } finally {
+            deleteQuietly(csv);
+        }
+
+        try {
+            indexMaintainer.reload();
+        } catch (Exception e) {
+            log.error("Reloading employee indexes after import {} failed: {}", jobId, e.getMessage(), e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private record Result(long rows, long imported) {
+    }
+
+    /**
+     * Reports the bytes read so far every {@link #PROGRESS_EVERY_BYTES}.
+     */
+    private static final class ProgressInputStream extends FilterInputStream {
+
+        private final LongConsumer progress;
+        private long read;
+        private long reported;
+
+        ProgressInputStream(InputStream in, LongConsumer progress) {
+            super(in);
+            this.progress = progress;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                advance(n);
+            }
+            return n;
+        }
+
+        private void advance(long n) {
+            read += n;
+            if (read - reported >= PROGRESS_EVERY_BYTES) {
+                reported = read;
+                progress.accept(read);
+            }
+        }
+    }
+}
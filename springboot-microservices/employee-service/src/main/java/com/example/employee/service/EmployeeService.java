@@ -1,9 +1,19 @@
 package com.example.employee.service;
 
-import com.example.employee.client.DepartmentClient;
+import com.example.employee.cache.DepartmentCache;
+import com.example.employee.domain.DepartmentHeadcount;
 import com.example.employee.domain.Employee;
 import com.example.employee.dto.*;
+import com.example.employee.event.EmployeeEventProducer;
+import com.example.employee.repository.ChangeCounterRepository;
+import com.example.employee.repository.DepartmentHeadcountRepository;
+import com.example.employee.repository.EmployeeCountEstimator;
 import com.example.employee.repository.EmployeeRepository;
+import com.example.employee.repository.EmployeeUpdateRepository;
+import com.example.employee.search.EmployeeIndexMaintainer;
+import com.example.employee.search.EmployeeSuggestIndex;
+import com.example.employee.search.EmployeeTextIndex;
+import com.example.employee.search.IndexedEmployee;
 
 import com.example.exception.common.ValidationException;
 import com.example.exception.external.ExternalServiceException;
@@ -11,17 +21,36 @@ import com.example.exception.resource.DuplicateResourceException;
 import com.example.exception.resource.ResourceNotFoundException;
 
 import feign.FeignException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -29,30 +58,58 @@ import java.util.concurrent.ConcurrentHashMap;
 @Transactional(readOnly = true)
 public class EmployeeService {
 
-    private final EmployeeRepository repository;
-    private final DepartmentClient departmentClient;
-
-    // Simple in-memory store for idempotency keys
-    private final Map<String, EmployeeDTO> idempotencyStore = new ConcurrentHashMap<>();
+    // Largest limit /employees/suggest accepts
+    private static final int MAX_SUGGESTIONS = 50;
 
-    public PageResponse<EmployeeDTO> getAll(Pageable pageable, EmployeeSearchRequest filters) {
+    private final EmployeeRepository repository;
+    private final EmployeeUpdateRepository updateRepository;
+    private final DepartmentHeadcountRepository headcountRepository;
+    private final DepartmentCache departmentCache;
+    private final DepartmentEnricher departmentEnricher;
+    private final EmployeeCountEstimator countEstimator;
+    private final ChangeCounterRepository changeCounters;
+    private final EmployeeIndexMaintainer indexMaintainer;
+    private final EmployeeEventProducer eventProducer;
+    private final Validator validator;
+    // Present when employee.search.engine=index
+    private final ObjectProvider<EmployeeTextIndex> textIndex;
+    // Present only with employee.suggest.enabled=true
+    private final ObjectProvider<EmployeeSuggestIndex> suggestIndex;
+
+    // "local" reads departments from the replicated department_ref table, "remote" from department-service.
+    // Only "remote" reads through DepartmentEnricher and DepartmentCache; writes always validate through the cache.
+    @Value("${department.enrichment.source:local}")
+    private String departmentSource;
+
+    @Value("${employee.bulk.max-items:1000}")
+    private int bulkMaxItems;
+
+    // count=estimate runs an exact count instead when the estimate is below this
+    @Value("${employee.count.exact-threshold:1000}")
+    private long exactCountThreshold;
+
+    public PageResponse<EmployeeDTO> getAll(Pageable pageable, EmployeeSearchRequest filters,
+                                            FieldSelection selection, CountMode count) {
         log.debug("Fetching employees with filters: {}", filters);
+        PageResponse.checkSize(pageable.getPageSize());
 
-        Page<Employee> page;
-
-        if (filters != null && hasFilters(filters)) {
-            page = repository.findWithFilters(
-                    filters.getEmail(),
-                    filters.getLastName(),
-                    filters.getDepartmentId(),
-                    pageable
-            );
-        } else {
-            page = repository.findAll(pageable);
+        EmployeeSearchRequest applied = filters != null && hasFilters(filters) ? filters : null;
+        if (count != CountMode.EXACT) {
+            return slicePage(applied, null, pageable, selection, count);
         }
 
-        Page<EmployeeDTO> dtoPage = page.map(this::toDTO);
-        return PageResponse.from(dtoPage);
+        return toPageResponse(repository.findRows(applied, null, pageable), selection);
+    }
+
+    /**
+     * Cursor-paged variant of {@link #getAll}: cost does not grow with depth and no count is run.
+     *
+     * @param cursor token from the previous page's nextCursor, or empty for the first page
+     */
+    public PageResponse<EmployeeDTO> getAllKeyset(EmployeeSearchRequest filters, String cursor, int size,
+                                                  Sort sort, FieldSelection selection) {
+        log.debug("Fetching employees after cursor with filters: {}", filters);
+        return keysetPage(filters, null, cursor, size, sort, selection);
     }
 
     private boolean hasFilters(EmployeeSearchRequest filters) {
@@ -61,24 +118,66 @@ public class EmployeeService {
                 filters.getDepartmentId() != null;
     }
 
-    public EmployeeDTO getById(Long id) {
+    /**
+     * Run {@code read} unless the caller already holds the current representation of the employee.
+     * The strong ETag comes from the version column, plus the department_ref change counter when
+     * the department is expanded from it, so a 304 costs a single-column lookup and no entity load.
+     *
+     * @param notModified checks the ETag against If-None-Match, e.g. {@code WebRequest::checkNotModified}
+     * @return the result of {@code read}, or {@code null} when not modified
+     */
+    public <T> T ifChanged(Long id, FieldSelection selection, Predicate<String> notModified, Supplier<T> read) {
+        Long version = repository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee", id));
+        String tag = id + "-" + version;
+        if (selection.isExpandDepartment()) {
+            if (!isLocalDepartmentSource()) {
+                // Departments from department-service carry no version here
+                return read.get();
+            }
+            tag += "-d" + changeCounters.changes("department_ref");
+        }
+        return notModified.test("\"" + tag + "\"") ? null : read.get();
+    }
+
+    /**
+     * List counterpart of {@link #ifChanged} with a weak ETag from the employees change counter.
+     * The counter is read in the same transaction as, and before, the page it labels.
+     */
+    public <T> T ifListChanged(FieldSelection selection, Predicate<String> notModified, Supplier<T> read) {
+        String tag = "e" + changeCounters.changes("employees");
+        if (selection.isExpandDepartment()) {
+            if (!isLocalDepartmentSource()) {
+                return read.get();
+            }
+            tag += "-d" + changeCounters.changes("department_ref");
+        }
+        return notModified.test("W/\"" + tag + "\"") ? null : read.get();
+    }
+
+    public EmployeeDTO getById(Long id, FieldSelection selection) {
         log.debug("Fetching employee with id: {}", id);
 
+        if (selection.isExpandDepartment() && isLocalDepartmentSource()) {
+            // The row projection joins department_ref; the entity never loads it
+            EmployeeRow row = repository.findRowsByIds(List.of(id)).stream()
+                    .findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee", id));
+            return toDTO(row, selection);
+        }
         Employee e = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", id));
-        return toDTO(e);
+        return toDTO(e, selection);
     }
 
+    /**
+     * Create one employee. Idempotency-Key replays are handled by the caller, see
+     * {@link com.example.employee.idempotency.IdempotentExecutor}.
+     */
     @Transactional
-    public EmployeeDTO create(EmployeeDTO dto, String idempotencyKey) {
+    public EmployeeDTO create(EmployeeDTO dto) {
         log.info("Creating employee with email: {}", dto.getEmail());
 
-        // Check idempotency key
-        if (idempotencyKey != null && idempotencyStore.containsKey(idempotencyKey)) {
-            log.debug("Returning cached result for idempotency key: {}", idempotencyKey);
-            return idempotencyStore.get(idempotencyKey);
-        }
-
         // Validate email uniqueness
         if (repository.existsByEmail(dto.getEmail())) {
             throw new DuplicateResourceException("Employee", dto.getEmail());
@@ -97,120 +196,345 @@ public class EmployeeService {
                 .build();
 
         e = repository.save(e);
+        headcountRepository.adjust(e.getDepartmentId(), 1);
+        indexMaintainer.indexed(e);
         log.info("Created employee with id: {}", e.getId());
 
-        EmployeeDTO result = toDTO(e);
-
-        // Store for idempotency
-        if (idempotencyKey != null) {
-            idempotencyStore.put(idempotencyKey, result);
+        if (isLocalDepartmentSource()) {
+            // The entity carries no department_ref columns; read the row projection as getById does
+            Long id = e.getId();
+            EmployeeRow row = repository.findRowsByIds(List.of(id)).stream()
+                    .findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("Employee", id));
+            return toDTO(row, FieldSelection.full());
         }
-
-        return result;
+        return toDTO(e, FieldSelection.full());
     }
 
+    /**
+     * Create many employees in one transaction. Every item is validated on its own and reported as
+     * created or failed: emails are checked with one query, departments with one batched lookup,
+     * and the valid items are inserted in JDBC batches.
+     */
     @Transactional
-    public EmployeeDTO update(Long id, EmployeeDTO dto) {
-        log.info("Updating employee with id: {}", id);
+    public BulkCreateResponse createAll(List<EmployeeDTO> dtos) {
+        if (dtos == null) {
+            throw new ValidationException("employees", "A list of employees is required");
+        }
+        if (dtos.size() > bulkMaxItems) {
+            throw new ValidationException("employees", "At most " + bulkMaxItems + " employees per request");
+        }
+        log.info("Bulk creating {} employees", dtos.size());
 
-        Employee existing = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee", id));
+        BulkCreateResponse.Item[] items = new BulkCreateResponse.Item[dtos.size()];
+        for (int i = 0; i < dtos.size(); i++) {
+            String violation = firstViolation(dtos.get(i));
+            if (violation != null) {
+                items[i] = BulkCreateResponse.Item.failed(i, "VALIDATION_ERROR", violation);
+            }
+        }
 
-        // Validate email uniqueness
-        if (repository.existsByEmailAndIdNot(dto.getEmail(), id)) {
-            throw new DuplicateResourceException("Employee", dto.getEmail());
+        List<String> emails = new ArrayList<>();
+        Set<Long> departmentIds = new HashSet<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (items[i] == null) {
+                emails.add(dtos.get(i).getEmail());
+                if (dtos.get(i).getDepartmentId() != null) {
+                    departmentIds.add(dtos.get(i).getDepartmentId());
+                }
+            }
+        }
+        Set<String> taken = emails.isEmpty() ? Set.of() : new HashSet<>(repository.findExistingEmails(emails));
+        Set<Long> departments = departmentIds.isEmpty() ? Set.of() : existingDepartments(departmentIds);
+
+        Set<String> seen = new HashSet<>();
+        List<Integer> indexes = new ArrayList<>();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            if (items[i] != null) {
+                continue;
+            }
+            EmployeeDTO dto = dtos.get(i);
+            if (taken.contains(dto.getEmail()) || !seen.add(dto.getEmail())) {
+                items[i] = BulkCreateResponse.Item.failed(i, "DUPLICATE_RESOURCE",
+                        "Employee already exists with email: " + dto.getEmail());
+            } else if (dto.getDepartmentId() != null && !departments.contains(dto.getDepartmentId())) {
+                items[i] = BulkCreateResponse.Item.failed(i, "RESOURCE_NOT_FOUND",
+                        "Department not found with id: " + dto.getDepartmentId());
+            } else {
+                indexes.add(i);
+                employees.add(Employee.builder()
+                        .firstName(dto.getFirstName())
+                        .lastName(dto.getLastName())
+                        .email(dto.getEmail())
+                        .departmentId(dto.getDepartmentId())
+                        .build());
+            }
         }
 
-        // Validate department exists if provided
-        if (dto.getDepartmentId() != null) {
-            validateDepartmentExists(dto.getDepartmentId());
+        try {
+            repository.saveAll(employees);
+            repository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // An email was taken between the check and the insert
+            throw new DuplicateResourceException("An email in the batch was taken concurrently; retry the request");
         }
 
-        existing.setFirstName(dto.getFirstName());
-        existing.setLastName(dto.getLastName());
-        existing.setEmail(dto.getEmail());
-        existing.setDepartmentId(dto.getDepartmentId());
+        // Sorted, so concurrent bulk creates lock headcount rows in the same order
+        Map<Long, Long> added = new TreeMap<>(Comparator.nullsFirst(Comparator.<Long>naturalOrder()));
+        employees.forEach(e -> added.merge(e.getDepartmentId(), 1L, Long::sum));
+        added.forEach(headcountRepository::adjust);
 
-        existing = repository.save(existing);
-        log.info("Updated employee with id: {}", existing.getId());
+        for (int j = 0; j < employees.size(); j++) {
+            Employee e = employees.get(j);
+            indexMaintainer.indexed(e);
+            items[indexes.get(j)] = BulkCreateResponse.Item.created(indexes.get(j), toDTO(e, FieldSelection.basic()));
+        }
+        log.info("Bulk created {} of {} employees", employees.size(), dtos.size());
 
-        return toDTO(existing);
+        return new BulkCreateResponse(employees.size(), dtos.size() - employees.size(), List.of(items));
     }
 
+    /**
+     * Move a department's employees, or the listed ones among them, to another department with one
+     * UPDATE. Headcounts move in the same transaction and a single event announces the move.
+     */
     @Transactional
-    public EmployeeDTO patch(Long id, EmployeeDTO dto) {
-        log.info("Patching employee with id: {}", id);
-
-        Employee existing = repository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee", id));
-
-        if (dto.getFirstName() != null) {
-            existing.setFirstName(dto.getFirstName());
+    public ReassignResponse reassign(ReassignRequest request) {
+        Long from = request.getFromDepartmentId();
+        Long to = request.getToDepartmentId();
+        List<Long> employeeIds = request.getEmployeeIds();
+        log.info("Reassigning employees from department {} to {}", from, to);
+
+        if (Objects.equals(from, to)) {
+            throw new ValidationException("toDepartmentId", "Target department must differ from the source");
         }
-        if (dto.getLastName() != null) {
-            existing.setLastName(dto.getLastName());
+        if (employeeIds != null && employeeIds.size() > bulkMaxItems) {
+            throw new ValidationException("employeeIds", "At most " + bulkMaxItems + " employees per request");
         }
-        if (dto.getEmail() != null) {
-            if (repository.existsByEmailAndIdNot(dto.getEmail(), id)) {
-                throw new DuplicateResourceException("Employee", dto.getEmail());
-            }
-            existing.setEmail(dto.getEmail());
+        if (employeeIds != null && employeeIds.isEmpty()) {
+            return new ReassignResponse(from, to, 0);
         }
-        if (dto.getDepartmentId() != null) {
-            validateDepartmentExists(dto.getDepartmentId());
-            existing.setDepartmentId(dto.getDepartmentId());
+        validateDepartmentExists(to);
+
+        List<IndexedEmployee> moved = updateRepository.reassign(from, to, employeeIds);
+        if (!moved.isEmpty()) {
+            headcountRepository.move(from, to, moved.size());
+            indexMaintainer.indexed(moved);
+            eventProducer.sendEmployeesReassignedEvent(from, to, moved.size());
         }
+        log.info("Reassigned {} employees from department {} to {}", moved.size(), from, to);
 
-        existing = repository.save(existing);
-        log.info("Patched employee with id: {}", existing.getId());
+        return new ReassignResponse(from, to, moved.size());
+    }
 
-        return toDTO(existing);
+    /**
+     * Replaces the employee in a single UPDATE; see {@link EmployeeUpdateRepository}.
+     */
+    @Transactional
+    public EmployeeDTO update(Long id, EmployeeDTO dto) {
+        log.info("Updating employee with id: {}", id);
+
+        validateDepartmentFor(id, dto.getDepartmentId());
+
+        EmployeeUpdateRepository.Updated updated = applyUpdate(id, dto.getEmail(), () -> updateRepository.replace(
+                id, dto.getFirstName(), dto.getLastName(), dto.getEmail(), dto.getDepartmentId()));
+        log.info("Updated employee with id: {} to version {}", id, updated.version());
+
+        return toDTO(updated.row(), FieldSelection.full());
     }
 
     @Transactional
-    public void delete(Long id) {
-        log.info("Deleting employee with id: {}", id);
+    public EmployeeDTO patch(Long id, EmployeeDTO dto) {
+        log.info("Patching employee with id: {}", id);
+
+        validateDepartmentFor(id, dto.getDepartmentId());
+
+        EmployeeUpdateRepository.Updated updated = applyUpdate(id, dto.getEmail(), () -> updateRepository.patch(
+                id, dto.getFirstName(), dto.getLastName(), dto.getEmail(), dto.getDepartmentId()));
+        log.info("Patched employee with id: {} to version {}", id, updated.version());
+
+        return toDTO(updated.row(), FieldSelection.full());
+    }
 
+    /**
+     * Check the department an update moves the employee to. An unknown employee is reported as 404
+     * before department-service is called, as it would be without a department change.
+     */
+    private void validateDepartmentFor(Long id, Long departmentId) {
+        if (departmentId == null) {
+            return;
+        }
         if (!repository.existsById(id)) {
             throw new ResourceNotFoundException("Employee", id);
         }
+        validateDepartmentExists(departmentId);
+    }
 
-        repository.deleteById(id);
+    /**
+     * Runs the update statement, maps the unique-constraint and missing-row outcomes, and applies
+     * the headcount and index side effects of the new row.
+     */
+    private EmployeeUpdateRepository.Updated applyUpdate(Long id, String email,
+                                                         Supplier<Optional<EmployeeUpdateRepository.Updated>> update) {
+        EmployeeUpdateRepository.Updated updated;
+        try {
+            updated = update.get().orElseThrow(() -> new ResourceNotFoundException("Employee", id));
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateResourceException("Employee", email);
+        }
+        headcountRepository.move(updated.previousDepartmentId(), updated.row().departmentId());
+        indexMaintainer.indexed(IndexedEmployee.of(updated.row()));
+        return updated;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        log.info("Deleting employee with id: {}", id);
+
+        Employee existing = repository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee", id));
+
+        repository.delete(existing);
+        headcountRepository.adjust(existing.getDepartmentId(), -1);
+        indexMaintainer.removed(id);
         log.info("Deleted employee with id: {}", id);
     }
 
-    public PageResponse<EmployeeDTO> search(String query, Pageable pageable) {
+    public PageResponse<EmployeeDTO> search(String query, Pageable pageable, FieldSelection selection,
+                                            CountMode count) {
         log.debug("Searching employees with query: {}", query);
 
         if (query == null || query.trim().isEmpty()) {
             throw new ValidationException("Search query cannot be empty");
         }
+        PageResponse.checkSize(pageable.getPageSize());
+
+        EmployeeTextIndex index = textIndex.getIfAvailable();
+        if (index != null && index.isReady()) {
+            return indexSearch(index, query.trim(), pageable, selection);
+        }
 
-        Page<Employee> page = repository.searchByNameOrEmail(query.trim(), pageable);
-        Page<EmployeeDTO> dtoPage = page.map(this::toDTO);
-        return PageResponse.from(dtoPage);
+        if (count != CountMode.EXACT) {
+            return slicePage(null, query.trim(), pageable, selection, count);
+        }
+
+        return toPageResponse(repository.findRows(null, query.trim(), pageable), selection);
+    }
+
+    /**
+     * Search through the in-memory index. Results are ranked by relevance, so the requested sort
+     * is ignored, and the total is always exact. Rows come straight from the index unless
+     * departments are expanded.
+     */
+    private PageResponse<EmployeeDTO> indexSearch(EmployeeTextIndex index, String query, Pageable pageable,
+                                                  FieldSelection selection) {
+        EmployeeTextIndex.SearchResult result =
+                index.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+
+        List<EmployeeRow> rows;
+        if (selection.isExpandDepartment() && isLocalDepartmentSource()) {
+            // The index does not hold department_ref columns
+            List<Long> ids = result.employees().stream().map(IndexedEmployee::id).toList();
+            Map<Long, EmployeeRow> byId = repository.findRowsByIds(ids).stream()
+                    .collect(Collectors.toMap(EmployeeRow::id, Function.identity()));
+            rows = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        } else {
+            rows = result.employees().stream().map(IndexedEmployee::toRow).toList();
+        }
+
+        Page<EmployeeRow> page = new PageImpl<>(rows,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()), result.total());
+        return toPageResponse(page, selection);
+    }
+
+    /**
+     * Cursor-paged variant of {@link #search}.
+     */
+    public PageResponse<EmployeeDTO> searchKeyset(String query, String cursor, int size, Sort sort,
+                                                  FieldSelection selection) {
+        log.debug("Searching employees after cursor with query: {}", query);
+
+        if (query == null || query.trim().isEmpty()) {
+            throw new ValidationException("Search query cannot be empty");
+        }
+
+        return keysetPage(null, query.trim(), cursor, size, sort, selection);
+    }
+
+    /**
+     * Employees whose first name, last name, full name or email starts with the prefix.
+     * Served from the in-memory trie when employee.suggest.enabled is set and the trie is loaded,
+     * otherwise from a prefix query on the trigram indexes.
+     */
+    public List<EmployeeSuggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new ValidationException("prefix", "Prefix cannot be empty");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ValidationException("limit",
+                    String.format("limit must be between 1 and %d", MAX_SUGGESTIONS));
+        }
+
+        List<IndexedEmployee> matches;
+        EmployeeSuggestIndex index = suggestIndex.getIfAvailable();
+        if (index != null && index.isReady()) {
+            matches = index.suggest(prefix, limit);
+        } else {
+            matches = repository.findRowsStartingWith(prefix.trim(), limit).stream()
+                    .map(IndexedEmployee::of)
+                    .toList();
+        }
+
+        return matches.stream()
+                .map(e -> new EmployeeSuggestion(e.id(), e.firstName(), e.lastName(), e.email()))
+                .toList();
     }
 
     public EmployeeStatsDTO getStats() {
         log.debug("Fetching employee statistics");
 
-        Long total = repository.countTotal();
-        List<Object[]> deptCounts = repository.countByDepartment();
-
+        // One row per department, kept current by create/update/patch/delete
+        long total = 0;
         Map<Long, Long> countsByDept = new HashMap<>();
-        for (Object[] row : deptCounts) {
-            countsByDept.put((Long) row[0], (Long) row[1]);
+        for (DepartmentHeadcount row : headcountRepository.findAll()) {
+            total += row.getHeadcount();
+            if (row.getDepartmentId() != DepartmentHeadcount.UNASSIGNED && row.getHeadcount() > 0) {
+                countsByDept.put(row.getDepartmentId(), row.getHeadcount());
+            }
         }
 
         return new EmployeeStatsDTO(total, countsByDept);
     }
 
+    private String firstViolation(EmployeeDTO dto) {
+        if (dto == null) {
+            return "Employee is required";
+        }
+        return validator.validate(dto).stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Which of the given departments exist, looked up in one batched call.
+     */
+    private Set<Long> existingDepartments(Set<Long> departmentIds) {
+        try {
+            return departmentCache.getAll(departmentIds).keySet();
+        } catch (FeignException e) {
+            log.error("Error validating departments {}: {}", departmentIds, e.getMessage());
+            throw new ExternalServiceException("department-service",
+                    "Unable to validate departments", e.status());
+        }
+    }
+
     private void validateDepartmentExists(Long departmentId) {
+        boolean exists;
         try {
-            departmentClient.getDepartment(departmentId);
-            log.debug("Department {} exists", departmentId);
-        } catch (FeignException.NotFound e) {
-            throw new ResourceNotFoundException("Department", departmentId);
+            exists = departmentCache.get(departmentId).isPresent();
         } catch (FeignException e) {
             log.error("Error validating department {}: {}", departmentId, e.getMessage());
             throw new ExternalServiceException("department-service",
@@ -220,32 +544,204 @@ public class EmployeeService {
             throw new ExternalServiceException("department-service",
                     "Unexpected error during department validation", e);
         }
+
+        if (!exists) {
+            throw new ResourceNotFoundException("Department", departmentId);
+        }
+        log.debug("Department {} exists", departmentId);
+    }
+
+    private PageResponse<EmployeeDTO> keysetPage(EmployeeSearchRequest filters, String search, String cursor,
+                                                 int size, Sort sort, FieldSelection selection) {
+        PageResponse.checkSize(size);
+        // sort comes from SortCatalog, so every key has a cursor value
+        String sortSignature = sort.stream()
+                .map(order -> order.getProperty() + "," + order.getDirection().name().toLowerCase())
+                .collect(Collectors.joining(";"));
+        List<Class<?>> valueTypes = sort.stream()
+                .map(Sort.Order::getProperty)
+                .filter(property -> !property.equals("id"))
+                .<Class<?>>map(EmployeeService::sortType)
+                .toList();
+        KeysetCursor after = KeysetCursor.decode(cursor, sortSignature, valueTypes);
+
+        // One extra row tells us whether there is a next page
+        List<EmployeeRow> rows = repository.findRowKeyset(filters, search, sort, after, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<EmployeeRow> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            EmployeeRow last = pageRows.get(pageRows.size() - 1);
+            List<Object> values = sort.stream()
+                    .map(Sort.Order::getProperty)
+                    .filter(property -> !property.equals("id"))
+                    .map(property -> sortValue(last, property))
+                    .toList();
+            nextCursor = new KeysetCursor(sortSignature, values, last.id()).encode();
+        }
+
+        PageResponse<EmployeeDTO> response = PageResponse.keyset(List.of(), size, sort, nextCursor);
+        fillContent(response, pageRows, selection);
+        return response;
+    }
+
+    /**
+     * Offset page without a COUNT query. With {@link CountMode#ESTIMATE} the total comes from
+     * planner statistics, raised to what this page proves exists; on the last page it is exact.
+     * Estimates below {@code employee.count.exact-threshold} are replaced by an exact count,
+     * which is cheap at that size and where planner statistics are least reliable.
+     */
+    private PageResponse<EmployeeDTO> slicePage(EmployeeSearchRequest filters, String search, Pageable pageable,
+                                                FieldSelection selection, CountMode count) {
+        Slice<EmployeeRow> slice = repository.findRowSlice(filters, search, pageable);
+
+        Long total = null;
+        boolean exact = false;
+        if (count == CountMode.ESTIMATE) {
+            long seen = pageable.getOffset() + slice.getNumberOfElements();
+            boolean lastPage = !slice.hasNext() && (slice.hasContent() || pageable.getOffset() == 0);
+            if (lastPage) {
+                total = seen;
+                exact = true;
+            } else {
+                long estimate = countEstimator.estimate(filters, search);
+                if (estimate < exactCountThreshold) {
+                    total = repository.countRows(filters, search);
+                    exact = true;
+                } else {
+                    total = Math.max(estimate, slice.hasNext() ? seen + 1 : 0);
+                }
+            }
+        }
+
+        PageResponse<EmployeeDTO> response = PageResponse.fromSlice(slice, List.of(), total);
+        if (exact) {
+            response.setTotalEstimated(false);
+        }
+        fillContent(response, slice.getContent(), selection);
+        return response;
+    }
+
+    private static Class<?> sortType(String property) {
+        return switch (property) {
+            case "firstName", "lastName", "email" -> String.class;
+            default -> throw new IllegalArgumentException("Not a cursor sort field: " + property);
+        };
+    }
+
+    private static Object sortValue(EmployeeRow row, String property) {
+        return switch (property) {
+            case "firstName" -> row.firstName();
+            case "lastName" -> row.lastName();
+            case "email" -> row.email();
+            default -> throw new IllegalArgumentException("Not a cursor sort field: " + property);
+        };
+    }
+
+    /**
+     * Convert a page of employee rows.
+     */
+    private PageResponse<EmployeeDTO> toPageResponse(Page<EmployeeRow> page, FieldSelection selection) {
+        PageResponse<EmployeeDTO> response = PageResponse.from(page, List.of());
+        fillContent(response, page.getContent(), selection);
+        return response;
+    }
+
+    /**
+     * Set the response rows. Departments are only resolved when the caller expanded them:
+     * from the joined department_ref in local mode, otherwise concurrently for the whole page.
+     */
+    private void fillContent(PageResponse<EmployeeDTO> response, List<EmployeeRow> rows,
+                             FieldSelection selection) {
+        if (!selection.isExpandDepartment()) {
+            response.setContent(rows.stream()
+                    .map(row -> toDTO(row, null, selection))
+                    .toList());
+            return;
+        }
+
+        if (isLocalDepartmentSource()) {
+            response.setContent(rows.stream()
+                    .map(row -> toDTO(row, toDepartmentDTO(row), selection))
+                    .toList());
+            return;
+        }
+
+        List<Long> departmentIds = rows.stream()
+                .map(EmployeeRow::departmentId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        DepartmentEnricher.Enrichment enrichment = departmentEnricher.enrich(departmentIds);
+
+        response.setContent(rows.stream()
+                .map(row -> toDTO(row, enrichment.get(row.departmentId()), selection))
+                .toList());
+        response.setPartial(enrichment.partial());
+    }
+
+    private EmployeeDTO toDTO(Employee e, FieldSelection selection) {
+        return toDTO(EmployeeRow.of(e), selection);
     }
 
-    private EmployeeDTO toDTO(Employee e) {
+    private EmployeeDTO toDTO(EmployeeRow row, FieldSelection selection) {
         DepartmentDTO dept = null;
-        if (e.getDepartmentId() != null) {
+        if (selection.isExpandDepartment() && isLocalDepartmentSource()) {
+            dept = toDepartmentDTO(row);
+        } else if (selection.isExpandDepartment() && row.departmentId() != null) {
             try {
-                dept = departmentClient.getDepartment(e.getDepartmentId());
-                log.debug("Enriched employee {} with department {}", e.getId(), dept.getName());
-            } catch (FeignException.NotFound ex) {
-                log.warn("Department {} not found for employee {}", e.getDepartmentId(), e.getId());
+                dept = departmentCache.get(row.departmentId()).orElse(null);
+                if (dept == null) {
+                    log.warn("Department {} not found for employee {}", row.departmentId(), row.id());
+                }
             } catch (FeignException ex) {
                 log.warn("Error fetching department {} for employee {}: {}",
-                        e.getDepartmentId(), e.getId(), ex.getMessage());
+                        row.departmentId(), row.id(), ex.getMessage());
             } catch (Exception ex) {
                 log.error("Unexpected error fetching department {} for employee {}: {}",
-                        e.getDepartmentId(), e.getId(), ex.getMessage(), ex);
+                        row.departmentId(), row.id(), ex.getMessage(), ex);
             }
         }
+        return toDTO(row, dept, selection);
+    }
 
-        return EmployeeDTO.builder()
-                .id(e.getId())
-                .firstName(e.getFirstName())
-                .lastName(e.getLastName())
-                .email(e.getEmail())
-                .departmentId(e.getDepartmentId())
-                .department(dept)
-                .build();
+    private boolean isLocalDepartmentSource() {
+        return "local".equalsIgnoreCase(departmentSource);
+    }
+
+    private DepartmentDTO toDepartmentDTO(EmployeeRow row) {
+        if (!row.hasDepartmentRef()) {
+            return null;
+        }
+        DepartmentDTO dto = new DepartmentDTO();
+        dto.setId(row.departmentId());
+        dto.setName(row.departmentName());
+        dto.setCode(row.departmentCode());
+        return dto;
+    }
+
+    private EmployeeDTO toDTO(EmployeeRow row, DepartmentDTO dept, FieldSelection selection) {
+        EmployeeDTO.EmployeeDTOBuilder dto = EmployeeDTO.builder();
+        if (selection.includes("id")) {
+            dto.id(row.id());
+        }
+        if (selection.includes("firstName")) {
+            dto.firstName(row.firstName());
+        }
+        if (selection.includes("lastName")) {
+            dto.lastName(row.lastName());
+        }
+        if (selection.includes("email")) {
+            dto.email(row.email());
+        }
+        if (selection.includes("departmentId")) {
+            dto.departmentId(row.departmentId());
+        }
+        if (selection.isExpandDepartment()) {
+            dto.department(dept);
+        }
+        return dto.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.example.employee.service;
+
+import com.example.employee.repository.DepartmentHeadcountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically recomputes employee.department_headcount from the employee table, fixing any
+ * drift left by writes that bypassed {@link EmployeeService} (manual SQL, migrations).
+ * Every instance schedules it, but an advisory lock lets only one run at a time; the others skip.
+ * A run blocks employee writes while it scans the table, so keep the interval long.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "employee.stats.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+public class HeadcountReconciler {
+
+    private final DepartmentHeadcountRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    public HeadcountReconciler(DepartmentHeadcountRepository repository,
+                               PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${employee.stats.reconcile.interval:PT15M}",
+            fixedDelayString = "${employee.stats.reconcile.interval:PT15M}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.warn("Headcount reconciliation failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return number of counters corrected or removed; 0 when another instance is reconciling
+     */
+    public int reconcile() {
+        Integer fixed = transactionTemplate.execute(status -> {
+            if (!repository.tryLockReconcileRun()) {
+                return null;
+            }
+            repository.lockForReconcile();
+            return repository.reconcileCounts() + repository.deleteEmpty();
+        });
+        if (fixed == null) {
+            log.debug("Headcount reconciliation is running on another instance, skipped");
+            return 0;
+        }
+        int corrected = fixed;
+        if (corrected > 0) {
+            log.warn("Corrected {} department headcount rows", corrected);
+        } else {
+            log.debug("Department headcounts are consistent");
+        }
+        return corrected;
+    }
+}
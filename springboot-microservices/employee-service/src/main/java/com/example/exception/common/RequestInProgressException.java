@@ -0,0 +1,18 @@
+package com.example.exception.common;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception for a request whose duplicate is still being processed; the client may retry later
+ */
+@Getter
+public class RequestInProgressException extends BusinessException {
+    private final Duration retryAfter;
+
+    public RequestInProgressException(String message, String errorCode, Duration retryAfter) {
+        super(message, errorCode);
+        this.retryAfter = retryAfter;
+    }
+}
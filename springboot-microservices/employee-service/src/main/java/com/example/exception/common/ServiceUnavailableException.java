@@ -0,0 +1,24 @@
+package com.example.exception.common;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Exception for requests refused because the service is saturated; the client may retry later
+ */
+@Getter
+public class ServiceUnavailableException extends BaseException {
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message, String errorCode, Duration retryAfter) {
+        super(message, errorCode);
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public int getHttpStatus() {
+        return HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+}
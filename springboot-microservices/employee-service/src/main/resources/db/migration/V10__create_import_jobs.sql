@@ -0,0 +1,23 @@
+-- CSV imports: one row per uploaded file, progress updated while the job runs
+CREATE TABLE IF NOT EXISTS employee.import_jobs (
+    id            BIGSERIAL PRIMARY KEY,
+    file_name     VARCHAR(255),
+    status        VARCHAR(20)  NOT NULL,
+    bytes_total   BIGINT       NOT NULL,
+    bytes_loaded  BIGINT       NOT NULL DEFAULT 0,
+    rows_total    BIGINT,
+    rows_imported BIGINT,
+    rows_failed   BIGINT,
+    error         TEXT,
+    created_at    TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    finished_at   TIMESTAMPTZ
+);
+
+-- Rejected CSV lines; line_number counts the header as line 1
+CREATE TABLE IF NOT EXISTS employee.import_errors (
+    job_id      BIGINT       NOT NULL REFERENCES employee.import_jobs (id) ON DELETE CASCADE,
+    line_number BIGINT       NOT NULL,
+    email       TEXT,
+    reason      VARCHAR(100) NOT NULL,
+    PRIMARY KEY (job_id, line_number)
+);
@@ -0,0 +1,17 @@
+-- Writers append one row per statement to change_log instead of updating the change_counters row.
+-- That row was held locked by every writing transaction until commit, so all writers to a table
+-- ran one at a time. A counter is now its change_counters value plus its visible change_log rows;
+-- ChangeLogCompactor periodically folds the rows into the value, which leaves the sum unchanged.
+CREATE TABLE IF NOT EXISTS employee.change_log (
+    id         BIGSERIAL PRIMARY KEY,
+    table_name VARCHAR(63) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_log_table_name ON employee.change_log (table_name);
+
+CREATE OR REPLACE FUNCTION employee.bump_change_counter() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO employee.change_log (table_name) VALUES (TG_TABLE_NAME);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
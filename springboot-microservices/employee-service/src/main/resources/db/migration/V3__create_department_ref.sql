@@ -0,0 +1,7 @@
+-- Local read model of department-service departments, fed by department events
+CREATE TABLE IF NOT EXISTS employee.department_ref (
+    id        BIGINT PRIMARY KEY,
+    name      VARCHAR(120) NOT NULL,
+    code      VARCHAR(20),
+    synced_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
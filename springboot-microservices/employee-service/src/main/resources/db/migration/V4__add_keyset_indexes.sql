@@ -0,0 +1,6 @@
+-- Support seek predicates of cursor paging: (sort key, id) > (?, ?)
+CREATE INDEX IF NOT EXISTS idx_employees_last_name_id
+    ON employee.employees (last_name, id);
+
+CREATE INDEX IF NOT EXISTS idx_employees_first_name_id
+    ON employee.employees (first_name, id);
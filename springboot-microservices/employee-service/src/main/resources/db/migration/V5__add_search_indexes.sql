@@ -0,0 +1,16 @@
+-- Case-insensitive substring filters: lower(col) LIKE '%x%' can only use trigram indexes
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_employees_email_trgm
+    ON employee.employees USING gin (lower(email) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_employees_last_name_trgm
+    ON employee.employees USING gin (lower(last_name) gin_trgm_ops);
+
+-- Matches the full-name expression of the search endpoint
+CREATE INDEX IF NOT EXISTS idx_employees_full_name_trgm
+    ON employee.employees USING gin (lower(first_name || ' ' || last_name) gin_trgm_ops);
+
+-- Department filter, per-department counts and department checks
+CREATE INDEX IF NOT EXISTS idx_employees_department_id
+    ON employee.employees (department_id);
@@ -0,0 +1,11 @@
+-- Employees per department, maintained by employee-service writes; department_id 0 = unassigned
+CREATE TABLE IF NOT EXISTS employee.department_headcount (
+    department_id BIGINT PRIMARY KEY,
+    headcount     BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO employee.department_headcount (department_id, headcount)
+SELECT COALESCE(department_id, 0), count(*)
+FROM employee.employees
+GROUP BY COALESCE(department_id, 0)
+ON CONFLICT (department_id) DO UPDATE SET headcount = EXCLUDED.headcount;
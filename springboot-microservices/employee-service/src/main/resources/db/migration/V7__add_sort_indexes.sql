@@ -0,0 +1,7 @@
+-- Every sort in SortCatalog.EMPLOYEES ends with id and is read in index order.
+-- id, lastName and firstName are covered by the primary key and V4.
+CREATE INDEX IF NOT EXISTS idx_employees_email_id
+    ON employee.employees (email, id);
+
+CREATE INDEX IF NOT EXISTS idx_employees_last_name_first_name_id
+    ON employee.employees (last_name, first_name, id);
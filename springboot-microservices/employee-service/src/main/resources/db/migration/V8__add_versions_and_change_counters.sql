@@ -0,0 +1,32 @@
+-- Optimistic locking and strong ETags for single employees
+ALTER TABLE employee.employees
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Per-table change counters behind weak list ETags. Bumped in the writing transaction, so a reader
+-- that reads the counter before the data never labels old data with a new counter.
+CREATE TABLE IF NOT EXISTS employee.change_counters (
+    table_name VARCHAR(63) PRIMARY KEY,
+    changes    BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO employee.change_counters (table_name)
+VALUES ('employees'), ('department_ref')
+ON CONFLICT (table_name) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION employee.bump_change_counter() RETURNS trigger AS $$
+BEGIN
+    UPDATE employee.change_counters SET changes = changes + 1 WHERE table_name = TG_TABLE_NAME;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Once per statement, so bulk writes and COPY bump the counter once
+DROP TRIGGER IF EXISTS employees_change_counter ON employee.employees;
+CREATE TRIGGER employees_change_counter
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON employee.employees
+    FOR EACH STATEMENT EXECUTE FUNCTION employee.bump_change_counter();
+
+DROP TRIGGER IF EXISTS department_ref_change_counter ON employee.department_ref;
+CREATE TRIGGER department_ref_change_counter
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON employee.department_ref
+    FOR EACH STATEMENT EXECUTE FUNCTION employee.bump_change_counter();
@@ -0,0 +1,4 @@
+-- Hibernate takes employee ids 50 at a time (pooled optimizer) so inserts can be batched:
+-- each nextval returns the top of a block of 50 the caller owns.
+-- Inserts relying on the column default still get a single value that never falls inside a block.
+ALTER SEQUENCE employee.employees_id_seq INCREMENT BY 50;
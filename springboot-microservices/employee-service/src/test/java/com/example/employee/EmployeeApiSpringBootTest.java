@@ -1,32 +1,15 @@
 package com.example.employee;
 
-import com.example.employee.client.DepartmentClient;
-import com.example.employee.repository.EmployeeRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest(
-        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
-        properties = {
-                "spring.autoconfigure.exclude=" +
-                        "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration," +
-                        "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration," +
-                        "org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration",
-                "eureka.client.enabled=false",
-                "spring.cloud.discovery.enabled=false"
-        }
-)
-class EmployeeApiSpringBootTest {
+class EmployeeApiSpringBootTest extends PostgresIntegrationTest {
     @Autowired TestRestTemplate rest;
-    @MockBean EmployeeRepository repository;
-    @MockBean DepartmentClient departmentClient;
 
     @Test
     void health_endpoint_works() {
@@ -34,4 +17,4 @@ class EmployeeApiSpringBootTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).contains("\"status\":\"UP\"");
     }
-}
\ No newline at end of file
+}
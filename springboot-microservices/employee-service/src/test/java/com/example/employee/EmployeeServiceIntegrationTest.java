@@ -1,36 +1,19 @@
 package com.example.employee;
 
-import com.example.employee.repository.EmployeeRepository;
-import com.example.employee.client.DepartmentClient;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
-import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
 
 
 import static org.assertj.core.api.Assertions.assertThat;
-@SpringBootTest(
-        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
-        properties = {
-                "spring.autoconfigure.exclude=" +
-                        "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration," +
-                        "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration," +
-                        "org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration",
-                "eureka.client.enabled=false",
-                "spring.cloud.discovery.enabled=false",
-                // If you restrict actuator exposure in prod, make sure health is exposed here:
-                "management.endpoints.web.exposure.include=health,info"
-        }
-)
-class EmployeeActuatorSpringBootTest {
+// If you restrict actuator exposure in prod, make sure health is exposed here:
+@TestPropertySource(properties = "management.endpoints.web.exposure.include=health,info")
+class EmployeeActuatorSpringBootTest extends PostgresIntegrationTest {
     @Autowired
     TestRestTemplate rest;
 
-    @MockBean EmployeeRepository repository;
-    @MockBean DepartmentClient departmentClient;
-
     @Test
     void health_is_UP() {
         ResponseEntity<String> res = rest.getForEntity("/actuator/health", String.class);
@@ -0,0 +1,121 @@
+package com.example.employee;
+
+import com.example.employee.cache.DepartmentCache;
+import com.example.employee.client.DepartmentClient;
+import com.example.employee.dto.DepartmentDTO;
+import com.example.employee.event.EmployeeEventProducer;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Base for tests that run the whole application against a real PostgreSQL migrated by Flyway.
+ * The container is started once per JVM and every subclass with the same settings shares one
+ * Spring context. Only the systems outside the database are mocked: department-service and the
+ * Kafka producer. Tables are emptied before each test, so V2's seed rows are not visible.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.cloud.config.enabled=false",
+                "eureka.client.enabled=false",
+                "spring.cloud.discovery.enabled=false",
+                "management.health.redis.enabled=false",
+                "department.ref.sync-on-startup=false",
+                "department.cache.events.enabled=false",
+                "department.ref.events.enabled=false",
+                "employee.suggest.enabled=false",
+                "employee.change-log.compact-interval=PT1H"
+        }
+)
+public abstract class PostgresIntegrationTest {
+
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @MockBean
+    protected DepartmentClient departmentClient;
+
+    @MockBean
+    protected EmployeeEventProducer eventProducer;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DepartmentCache departmentCache;
+
+    @BeforeEach
+    void emptyTables() {
+        jdbcTemplate.execute("TRUNCATE employee.employees, employee.department_ref, "
+                + "employee.department_headcount, employee.import_jobs CASCADE");
+        departmentCache.evictAll();
+    }
+
+    /**
+     * Let department-service know these departments; every other id is reported missing.
+     */
+    protected void remoteDepartments(Long... ids) {
+        Set<Long> known = Arrays.stream(ids).collect(Collectors.toSet());
+        when(departmentClient.getDepartment(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return known.contains(id) ? departmentDTO(id) : null;
+        });
+        when(departmentClient.getDepartments(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> requested = invocation.getArgument(0);
+            return requested.stream().filter(known::contains).map(PostgresIntegrationTest::departmentDTO).toList();
+        });
+    }
+
+    private static DepartmentDTO departmentDTO(Long id) {
+        DepartmentDTO dto = new DepartmentDTO();
+        dto.setId(id);
+        dto.setName("Department " + id);
+        return dto;
+    }
+
+    protected void department(long id, String name, String code) {
+        jdbcTemplate.update("INSERT INTO employee.department_ref (id, name, code) VALUES (?, ?, ?)", id, name, code);
+    }
+
+    /**
+     * Insert an employee directly, bypassing the service and therefore the headcounts.
+     */
+    protected long employee(String firstName, String lastName, String email, Long departmentId) {
+        Long id = jdbcTemplate.queryForObject("INSERT INTO employee.employees (first_name, last_name, email, department_id) "
+                + "VALUES (?, ?, ?, ?) RETURNING id", Long.class, firstName, lastName, email, departmentId);
+        return id != null ? id : 0;
+    }
+
+    protected long headcount(long departmentId) {
+        return jdbcTemplate.queryForList(
+                        "SELECT headcount FROM employee.department_headcount WHERE department_id = ?",
+                        Long.class, departmentId).stream()
+                .findFirst()
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.employee.cache;
+
+import com.example.employee.client.DepartmentClient;
+import com.example.employee.dto.DepartmentDTO;
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DepartmentCache")
+class DepartmentCacheTest {
+
+    @Mock
+    DepartmentClient departmentClient;
+
+    DepartmentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DepartmentCache(departmentClient, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("serves repeated lookups from cache")
+    void get_caches_found_department() {
+        when(departmentClient.getDepartment(1L)).thenReturn(department(1L, "Engineering"));
+
+        assertThat(cache.get(1L)).map(DepartmentDTO::getName).contains("Engineering");
+        assertThat(cache.get(1L)).isPresent();
+
+        verify(departmentClient, times(1)).getDepartment(1L);
+    }
+
+    @Test
+    @DisplayName("caches 404s as empty")
+    void get_caches_not_found() {
+        when(departmentClient.getDepartment(9L)).thenThrow(FeignException.NotFound.class);
+
+        assertThat(cache.get(9L)).isEmpty();
+        assertThat(cache.get(9L)).isEmpty();
+
+        verify(departmentClient, times(1)).getDepartment(9L);
+    }
+
+    @Test
+    @DisplayName("batch lookup only fetches misses and reloads after eviction")
+    void getAll_fetches_only_misses() {
+        when(departmentClient.getDepartment(1L)).thenReturn(department(1L, "Engineering"));
+        when(departmentClient.getDepartments(anyCollection())).thenReturn(List.of(department(2L, "HR")));
+
+        cache.get(1L);
+        var result = cache.getAll(List.of(1L, 2L, 3L));
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        verify(departmentClient).getDepartments(List.of(2L, 3L));
+
+        cache.evict(1L);
+        cache.get(1L);
+        verify(departmentClient, times(2)).getDepartment(1L);
+    }
+
+    @Test
+    @DisplayName("a load that races an eviction does not cache the stale department")
+    void eviction_during_load_is_not_overwritten() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        when(departmentClient.getDepartment(1L))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    evicted.await(10, TimeUnit.SECONDS);
+                    return department(1L, "Engineering");
+                })
+                .thenReturn(department(1L, "Research"));
+
+        CompletableFuture<Optional<DepartmentDTO>> stale = CompletableFuture.supplyAsync(() -> cache.get(1L));
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+        // The rename event arrives while the old name is on its way back
+        cache.evict(1L);
+        evicted.countDown();
+
+        assertThat(stale.get(10, TimeUnit.SECONDS)).map(DepartmentDTO::getName).contains("Engineering");
+        assertThat(cache.getAllCached(List.of(1L))).isEmpty();
+        assertThat(cache.get(1L)).map(DepartmentDTO::getName).contains("Research");
+        verify(departmentClient, times(2)).getDepartment(1L);
+    }
+
+    @Test
+    @DisplayName("a batched load that races evictAll does not cache its results")
+    void evictAll_during_batch_load_is_not_overwritten() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        when(departmentClient.getDepartments(anyCollection())).thenAnswer(invocation -> {
+            loading.countDown();
+            evicted.await(10, TimeUnit.SECONDS);
+            return List.of(department(1L, "Engineering"), department(2L, "HR"));
+        });
+
+        CompletableFuture<Map<Long, DepartmentDTO>> stale =
+                CompletableFuture.supplyAsync(() -> cache.getAll(List.of(1L, 2L)));
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+        cache.evictAll();
+        evicted.countDown();
+
+        assertThat(stale.get(10, TimeUnit.SECONDS)).containsOnlyKeys(1L, 2L);
+        assertThat(cache.getAllCached(List.of(1L, 2L))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("batch lookup splits misses into calls of at most 500 ids")
+    void getAll_splits_large_batches() {
+        List<List<Long>> calls = new ArrayList<>();
+        when(departmentClient.getDepartments(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            calls.add(List.copyOf(ids));
+            return ids.stream().map(id -> department(id, "Department " + id)).toList();
+        });
+        List<Long> ids = LongStream.rangeClosed(1, 1_200).boxed().toList();
+
+        assertThat(cache.getAll(ids)).hasSize(1_200);
+        assertThat(calls).extracting(List::size).containsExactly(500, 500, 200);
+        assertThat(calls.stream().flatMap(List::stream)).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    private static DepartmentDTO department(Long id, String name) {
+        DepartmentDTO dto = new DepartmentDTO();
+        dto.setId(id);
+        dto.setName(name);
+        return dto;
+    }
+}
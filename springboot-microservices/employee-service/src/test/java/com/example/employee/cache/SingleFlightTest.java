@@ -0,0 +1,123 @@
+package com.example.employee.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight")
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    SingleFlight<Long, String> singleFlight = new SingleFlight<>(registry, "test");
+
+    @Test
+    @DisplayName("concurrent callers for one key share a single load")
+    void concurrent_callers_share_one_load() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(pool.submit(() -> singleFlight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "Engineering";
+                })));
+            }
+
+            waitForCoalesced(CALLERS - 1);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Engineering");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(count("leader")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    @DisplayName("waiters receive the leader's exception")
+    void waiters_receive_leader_exception() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = pool.submit(() -> singleFlight.execute(1L, () -> {
+                await(release);
+                throw new IllegalStateException("department-service down");
+            }));
+            waitForLeaders(1);
+            Future<String> waiter = pool.submit(() -> singleFlight.execute(1L, () -> "unused"));
+            waitForCoalesced(1);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(singleFlight.execute(1L, () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    @DisplayName("batch loads only keys that are not already in flight")
+    void batch_loads_missing_keys_once() {
+        Map<Long, String> result = singleFlight.executeAll(List.of(1L, 2L, 2L, 3L), keys -> {
+            assertThat(keys).containsExactly(1L, 2L, 3L);
+            return Map.of(1L, "Engineering", 2L, "HR");
+        });
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        assertThat(count("leader")).isEqualTo(3);
+    }
+
+    private double count(String role) {
+        return registry.get("singleflight.requests").tag("role", role).counter().count();
+    }
+
+    private void waitForLeaders(int expected) throws InterruptedException {
+        waitFor("leader", expected);
+    }
+
+    private void waitForCoalesced(int expected) throws InterruptedException {
+        waitFor("coalesced", expected);
+    }
+
+    private void waitFor(String role, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(role) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,17 +1,33 @@
 package com.example.employee.controller;
+import com.example.employee.config.ExportConfig;
+import com.example.employee.config.IdempotencyConfig;
 import com.example.employee.dto.EmployeeDTO;
+import com.example.employee.dto.ExportFormat;
+import com.example.employee.dto.FieldSelection;
+import com.example.employee.service.EmployeeExportService;
 import com.example.employee.service.EmployeeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Supplier;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -105,6 +121,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 
 @WebMvcTest(EmployeeController.class)
+@Import({IdempotencyConfig.class, ExportConfig.class})
 @DisplayName("EmployeeController (WebMvc slice)")
 public class EmployeeControllerTest {
     @Autowired MockMvc mvc;
@@ -114,6 +131,9 @@ public class EmployeeControllerTest {
     @MockBean
     EmployeeService service;
 
+    @MockBean
+    EmployeeExportService exportService;
+
 
     @Nested
     class List_and_Get {
@@ -152,4 +172,126 @@ public class EmployeeControllerTest {
                     .andExpect(jsonPath("$.id").value(10L));
         }
     }
+
+    @Nested
+    class Field_selection {
+        @BeforeEach
+        void readThrough() {
+            when(service.ifChanged(eq(1L), any(), any(), any()))
+                    .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(3).get());
+            when(service.getById(eq(1L), any())).thenReturn(EmployeeDTO.builder().id(1L).build());
+        }
+
+        @Test
+        void unknown_field_returns_400() throws Exception {
+            mvc.perform(get("/api/v1/employees/1").param("fields", "email,salary"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errors.fields").exists());
+        }
+
+        @Test
+        void unknown_expansion_returns_400() throws Exception {
+            mvc.perform(get("/api/v1/employees/1").param("expand", "manager"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void id_is_always_selected_and_nothing_expanded_by_default() throws Exception {
+            mvc.perform(get("/api/v1/employees/1").param("fields", "email"))
+                    .andExpect(status().isOk());
+
+            ArgumentCaptor<FieldSelection> selection = ArgumentCaptor.forClass(FieldSelection.class);
+            verify(service).getById(eq(1L), selection.capture());
+            assertThat(selection.getValue().getFields()).containsExactlyInAnyOrder("id", "email");
+            assertThat(selection.getValue().isExpandDepartment()).isFalse();
+        }
+
+        @Test
+        void department_is_expanded_when_requested() throws Exception {
+            mvc.perform(get("/api/v1/employees/1").param("fields", "email").param("expand", "department"))
+                    .andExpect(status().isOk());
+
+            ArgumentCaptor<FieldSelection> selection = ArgumentCaptor.forClass(FieldSelection.class);
+            verify(service).getById(eq(1L), selection.capture());
+            assertThat(selection.getValue().isExpandDepartment()).isTrue();
+        }
+    }
+
+    @Nested
+    class Idempotency {
+        @Test
+        void replayed_key_returns_stored_201_body() throws Exception {
+            var req = EmployeeDTO.builder().firstName("Dina").lastName("Khan").email("dina@example.com").build();
+            var res = EmployeeDTO.builder().id(10L).firstName("Dina").lastName("Khan").email("dina@example.com").build();
+            when(service.create(any(EmployeeDTO.class))).thenReturn(res);
+
+            for (int i = 0; i < 2; i++) {
+                mvc.perform(post("/api/v1/employees")
+                                .header("Idempotency-Key", "create-dina")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(om.writeValueAsString(req)))
+                        .andExpect(status().isCreated())
+                        .andExpect(jsonPath("$.id").value(10L))
+                        .andExpect(jsonPath("$.email").value("dina@example.com"));
+            }
+            verify(service, times(1)).create(any(EmployeeDTO.class));
+        }
+    }
+
+    @Nested
+    class Export {
+        @Test
+        void export_streams_csv_on_the_export_pool() throws Exception {
+            when(exportService.export(eq(ExportFormat.CSV), any(), eq(false), any())).thenAnswer(invocation -> {
+                OutputStream out = invocation.getArgument(3);
+                out.write("id,firstName,lastName,email,departmentId\n".getBytes(StandardCharsets.UTF_8));
+                return 0L;
+            });
+
+            MvcResult result = mvc.perform(get("/api/v1/employees/export").param("format", "csv"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", containsString("text/csv")))
+                    .andExpect(header().string("Content-Disposition", containsString("employees.csv")))
+                    .andExpect(content().string("id,firstName,lastName,email,departmentId\n"));
+        }
+
+        @Test
+        void export_unknown_format_returns_400() throws Exception {
+            mvc.perform(get("/api/v1/employees/export").param("format", "xml"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    class Page_size {
+        @Test
+        void size_zero_returns_400() throws Exception {
+            mvc.perform(get("/api/v1/employees").param("size", "0"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void size_above_max_returns_400() throws Exception {
+            mvc.perform(get("/api/v1/employees").param("size", "501"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void cursor_size_above_max_returns_400() throws Exception {
+            mvc.perform(get("/api/v1/employees").param("cursor", "").param("size", "1000"))
+                    .andExpect(status().isBadRequest());
+            mvc.perform(get("/api/v1/employees/search").param("q", "ada").param("cursor", "").param("size", "1000"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void negative_page_returns_400() throws Exception {
+            mvc.perform(get("/api/v1/employees").param("page", "-1"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
 }
@@ -0,0 +1,124 @@
+package com.example.employee.controller;
+
+import com.example.employee.PostgresIntegrationTest;
+import com.example.employee.dto.EmployeeDTO;
+import com.example.employee.repository.ChangeCounterRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conditional GETs against the real triggers and change counters.
+ */
+@DisplayName("Employee ETags")
+class EmployeeETagTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ChangeCounterRepository changeCounters;
+
+    @Test
+    @DisplayName("single employee: 304 for the current version, a new tag after an update")
+    void byId_etag_follows_version() {
+        long id = employee("Ada", "Lovelace", "ada@example.com", null);
+
+        ResponseEntity<String> first = get("/api/v1/employees/" + id, null);
+        String etag = first.getHeaders().getETag();
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(etag).startsWith("\"" + id + "-");
+
+        assertThat(get("/api/v1/employees/" + id, etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        EmployeeDTO update = EmployeeDTO.builder().firstName("Augusta").lastName("Lovelace")
+                .email("ada@example.com").build();
+        rest.put("/api/v1/employees/" + id, update);
+
+        ResponseEntity<String> changed = get("/api/v1/employees/" + id, etag);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(changed.getBody()).contains("Augusta");
+    }
+
+    @Test
+    @DisplayName("expanded employee: the tag changes when department_ref changes")
+    void expanded_etag_follows_department_ref() {
+        department(3L, "Engineering", "ENG");
+        long id = employee("Ada", "Lovelace", "ada@example.com", 3L);
+        String etag = get("/api/v1/employees/" + id + "?expand=department", null).getHeaders().getETag();
+
+        jdbcTemplate.update("UPDATE employee.department_ref SET name = 'Research' WHERE id = 3");
+
+        ResponseEntity<String> changed = get("/api/v1/employees/" + id + "?expand=department", etag);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getBody()).contains("Research");
+    }
+
+    @Test
+    @DisplayName("list: weak tag, 304 until the table changes")
+    void list_etag_follows_change_counter() {
+        employee("Ada", "Lovelace", "ada@example.com", null);
+
+        ResponseEntity<String> first = get("/api/v1/employees", null);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).startsWith("W/\"e");
+        assertThat(get("/api/v1/employees", etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(get("/api/v1/employees?cursor=", etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        employee("Grace", "Hopper", "grace@example.com", null);
+
+        ResponseEntity<String> changed = get("/api/v1/employees", etag);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("search: weak tag on offset and cursor pages, 304 until the table changes")
+    void search_etag_follows_change_counter() {
+        employee("Ada", "Lovelace", "ada@example.com", null);
+
+        ResponseEntity<String> first = get("/api/v1/employees/search?q=ada", null);
+        String etag = first.getHeaders().getETag();
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(etag).startsWith("W/\"e");
+        assertThat(get("/api/v1/employees/search?q=ada", etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(get("/api/v1/employees/search?q=ada&cursor=", etag).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        employee("Ada", "Byron", "ada.byron@example.com", null);
+
+        ResponseEntity<String> changed = get("/api/v1/employees/search?q=ada", etag);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(get("/api/v1/employees/search?q=ada&cursor=", etag).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("folding the change log into the counter keeps the list tag")
+    void compaction_keeps_etag() {
+        employee("Ada", "Lovelace", "ada@example.com", null);
+        employee("Grace", "Hopper", "grace@example.com", null);
+        String etag = get("/api/v1/employees", null).getHeaders().getETag();
+
+        assertThat(changeCounters.compact("employees")).isPositive();
+
+        assertThat(get("/api/v1/employees", etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    private ResponseEntity<String> get(String path, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.employee.controller;
+
+import com.example.employee.service.EmployeeImportService;
+import com.example.exception.common.ServiceUnavailableException;
+import com.example.exception.resource.ResourceNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EmployeeImportController.class)
+@DisplayName("EmployeeImportController (WebMvc slice)")
+class EmployeeImportControllerTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @MockBean
+    EmployeeImportService importService;
+
+    @Test
+    @DisplayName("a full import queue answers 503 with Retry-After")
+    void full_queue_returns_503() throws Exception {
+        when(importService.start(any())).thenThrow(new ServiceUnavailableException(
+                "Too many imports are queued; retry later", "IMPORT_QUEUE_FULL", Duration.ofSeconds(30)));
+
+        mvc.perform(multipart("/api/v1/employees/imports")
+                        .file(new MockMultipartFile("file", "employees.csv", "text/csv", "a,b\n".getBytes())))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(jsonPath("$.errorCode").value("IMPORT_QUEUE_FULL"));
+    }
+
+    @Test
+    @DisplayName("an unknown job answers 404")
+    void unknown_job_returns_404() throws Exception {
+        when(importService.getJob(42L)).thenThrow(new ResourceNotFoundException("Import", 42L));
+
+        mvc.perform(get("/api/v1/employees/imports/42"))
+                .andExpect(status().isNotFound());
+    }
+}
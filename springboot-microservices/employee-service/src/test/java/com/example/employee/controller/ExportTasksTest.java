@@ -0,0 +1,62 @@
+package com.example.employee.controller;
+
+import com.example.exception.common.ServiceUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ExportTasks")
+class ExportTasksTest {
+
+    private final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("export-");
+    private final ExportTasks tasks = new ExportTasks(executor, 1, Duration.ofMinutes(2));
+
+    @Test
+    @DisplayName("runs on the export executor with the export timeout and writes the body")
+    void writes_body() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        WebAsyncTask<Void> task = tasks.start(response,
+                out -> out.write("id\n1\n".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(task.getExecutor()).isSameAs(executor);
+        assertThat(task.getTimeout()).isEqualTo(Duration.ofMinutes(2).toMillis());
+        task.getCallable().call();
+        assertThat(response.getContentAsString()).isEqualTo("id\n1\n");
+    }
+
+    @Test
+    @DisplayName("refuses exports beyond the limit with 503 until one finishes")
+    void refuses_beyond_limit() throws Exception {
+        WebAsyncTask<Void> running = tasks.start(new MockHttpServletResponse(), out -> { });
+
+        assertThatThrownBy(() -> tasks.start(new MockHttpServletResponse(), out -> { }))
+                .isInstanceOfSatisfying(ServiceUnavailableException.class, e -> {
+                    assertThat(e.getHttpStatus()).isEqualTo(503);
+                    assertThat(e.getRetryAfter()).isPositive();
+                });
+
+        running.getCallable().call();
+        assertThat(tasks.start(new MockHttpServletResponse(), out -> { })).isNotNull();
+    }
+
+    @Test
+    @DisplayName("a failed export gives its permit back")
+    void failure_releases_permit() {
+        WebAsyncTask<Void> failing = tasks.start(new MockHttpServletResponse(), out -> {
+            throw new IOException("client went away");
+        });
+
+        assertThatThrownBy(() -> failing.getCallable().call()).isInstanceOf(IOException.class);
+        assertThat(tasks.start(new MockHttpServletResponse(), out -> { })).isNotNull();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.employee.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReplicaRoutingDataSource")
+class ReplicaRoutingDataSourceTest {
+
+    ReplicaLagMonitor lagMonitor;
+    ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        lagMonitor = mock(ReplicaLagMonitor.class);
+        when(lagMonitor.isHealthy(anyString())).thenReturn(true);
+        routing = new ReplicaRoutingDataSource(List.of("replica-1", "replica-2"), lagMonitor, Duration.ofSeconds(5));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("read-only transactions rotate over healthy replicas, writes use the primary")
+    void routes_by_read_only_flag() {
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(List.of(routing.determineCurrentLookupKey(), routing.determineCurrentLookupKey()))
+                .containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    @Test
+    @DisplayName("falls back to the primary when replicas lag")
+    void lagging_replicas_are_bypassed() {
+        when(lagMonitor.isHealthy("replica-1")).thenReturn(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-2");
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo("replica-2");
+
+        when(lagMonitor.isHealthy("replica-2")).thenReturn(false);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("a committed write pins the rest of the request and sets the read-your-writes cookie")
+    void write_pins_reads_to_primary() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), response));
+        Connection primary = primaryConnection(true);
+
+        routing.getConnection().commit();
+
+        verify(primary).commit();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(response.getCookie(ReadYourWrites.COOKIE)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("a read-write transaction that modified nothing pins nothing")
+    void read_write_transaction_without_writes_does_not_pin() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), response));
+        Connection primary = primaryConnection(false);
+
+        Connection connection = routing.getConnection();
+        connection.commit();
+
+        verify(primary).commit();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.determineCurrentLookupKey()).isNotEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(response.getCookie(ReadYourWrites.COOKIE)).isNull();
+    }
+
+    @Test
+    @DisplayName("a rolled-back write pins nothing")
+    void rolled_back_write_does_not_pin() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), response));
+        Connection primary = primaryConnection(true);
+
+        routing.getConnection().rollback();
+
+        verify(primary).rollback();
+        verify(primary, never()).createStatement();
+        assertThat(response.getCookie(ReadYourWrites.COOKIE)).isNull();
+    }
+
+    @Test
+    @DisplayName("an unexpired cookie from an earlier write keeps reads on the primary")
+    void cookie_pins_reads_to_primary() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ReadYourWrites.COOKIE, String.valueOf(System.currentTimeMillis() + 5000)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    /**
+     * Route the primary to a connection whose transaction reports a transaction id or not.
+     */
+    private Connection primaryConnection(boolean wrote) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getBoolean(1)).thenReturn(wrote);
+        DataSource primary = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(connection);
+
+        routing.setTargetDataSources(Map.of(ReplicaRoutingDataSource.PRIMARY, primary,
+                "replica-1", mock(DataSource.class), "replica-2", mock(DataSource.class)));
+        routing.afterPropertiesSet();
+        return connection;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.employee.dto;
+
+import com.example.exception.common.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FieldSelection")
+class FieldSelectionTest {
+
+    @Test
+    @DisplayName("no fields selects every field, without expansion")
+    void parse_defaults_to_all_fields() {
+        FieldSelection selection = FieldSelection.parse(null, null);
+
+        assertThat(selection.getFields()).containsExactlyInAnyOrderElementsOf(FieldSelection.FIELDS);
+        assertThat(selection.isExpandDepartment()).isFalse();
+        assertThat(FieldSelection.parse(" ", "").getFields()).hasSize(FieldSelection.FIELDS.size());
+    }
+
+    @Test
+    @DisplayName("selected fields always include the id")
+    void parse_always_includes_id() {
+        assertThat(FieldSelection.parse("email, lastName", null).getFields())
+                .containsExactlyInAnyOrder("id", "email", "lastName");
+        assertThat(FieldSelection.parse("id,email", null).getFields())
+                .containsExactlyInAnyOrder("id", "email");
+    }
+
+    @Test
+    @DisplayName("expand=department is the only expansion and only applies when asked for")
+    void parse_expands_department_on_request() {
+        assertThat(FieldSelection.parse("email", "department").isExpandDepartment()).isTrue();
+        assertThat(FieldSelection.parse("email", null).isExpandDepartment()).isFalse();
+    }
+
+    @Test
+    @DisplayName("unknown fields and expansions are validation errors")
+    void parse_rejects_unknown_names() {
+        assertThatThrownBy(() -> FieldSelection.parse("email,salary", null))
+                .isInstanceOfSatisfying(ValidationException.class,
+                        e -> assertThat(e.getValidationErrors()).containsKey("fields"));
+        assertThatThrownBy(() -> FieldSelection.parse(null, "manager"))
+                .isInstanceOfSatisfying(ValidationException.class,
+                        e -> assertThat(e.getValidationErrors()).containsKey("expand"));
+    }
+}
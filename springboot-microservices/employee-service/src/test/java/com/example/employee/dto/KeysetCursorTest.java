@@ -0,0 +1,121 @@
+package com.example.employee.dto;
+
+import com.example.exception.common.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("KeysetCursor")
+class KeysetCursorTest {
+
+    private static final String SORT = "lastName,asc;firstName,asc;id,asc";
+    private static final List<Class<?>> TYPES = List.of(String.class, String.class);
+
+    @Test
+    @DisplayName("decodes what it encodes into a URL-safe token")
+    void round_trip() {
+        String token = new KeysetCursor(SORT, List.of("O'Brien", "Zoë"), 42L).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        KeysetCursor decoded = KeysetCursor.decode(token, SORT, TYPES);
+        assertThat(decoded.getValues()).containsExactly("O'Brien", "Zoë");
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("an empty or missing token is the first page")
+    void empty_token_is_first_page() {
+        assertThat(KeysetCursor.decode(null, SORT, TYPES)).isNull();
+        assertThat(KeysetCursor.decode("", SORT, TYPES)).isNull();
+        assertThat(KeysetCursor.decode("  ", SORT, TYPES)).isNull();
+    }
+
+    @Test
+    @DisplayName("a cursor issued for another sort is rejected")
+    void sort_mismatch() {
+        String token = new KeysetCursor(SORT, List.of("Nguyen", "Alice"), 7L).encode();
+
+        assertThatThrownBy(() -> KeysetCursor.decode(token, "email,asc;id,asc", List.of(String.class)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("does not match");
+    }
+
+    @Test
+    @DisplayName("tampered or truncated tokens are rejected as invalid")
+    void tampered_token() {
+        String token = new KeysetCursor(SORT, List.of("Nguyen", "Alice"), 7L).encode();
+
+        assertThatThrownBy(() -> KeysetCursor.decode(token.substring(0, token.length() / 2), SORT, TYPES))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor!", SORT, TYPES))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    @DisplayName("well-formed JSON without an id or values is rejected")
+    void incomplete_cursor() {
+        String withoutId = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("{\"sort\":\"" + SORT + "\",\"values\":[\"Nguyen\",\"Alice\"]}").getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> KeysetCursor.decode(withoutId, SORT, TYPES))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    @DisplayName("a cursor with fewer or more values than sort keys is rejected")
+    void wrong_number_of_values() {
+        String tooFew = new KeysetCursor(SORT, List.of("Nguyen"), 7L).encode();
+        String tooMany = new KeysetCursor(SORT, List.of("Nguyen", "Alice", "extra"), 7L).encode();
+
+        assertThatThrownBy(() -> KeysetCursor.decode(tooFew, SORT, TYPES))
+                .isInstanceOfSatisfying(ValidationException.class,
+                        e -> assertThat(e.getValidationErrors()).containsKey("cursor"));
+        assertThatThrownBy(() -> KeysetCursor.decode(tooMany, SORT, TYPES))
+                .isInstanceOfSatisfying(ValidationException.class,
+                        e -> assertThat(e.getValidationErrors()).containsKey("cursor"));
+    }
+
+    @Test
+    @DisplayName("a value that is not of its sort key's type is rejected")
+    void wrong_value_type() {
+        String sort = "departmentId,asc;id,asc";
+        String text = new KeysetCursor(sort, List.of("engineering"), 7L).encode();
+        String object = new KeysetCursor(SORT, List.of(Map.of("a", 1), "Alice"), 7L).encode();
+        String missing = new KeysetCursor(SORT, Arrays.asList("Nguyen", null), 7L).encode();
+
+        assertThatThrownBy(() -> KeysetCursor.decode(text, sort, List.of(Long.class)))
+                .isInstanceOfSatisfying(ValidationException.class,
+                        e -> assertThat(e.getValidationErrors()).containsKey("cursor"));
+        assertThatThrownBy(() -> KeysetCursor.decode(object, SORT, TYPES))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(missing, SORT, TYPES))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    @DisplayName("values are converted to their sort key's type")
+    void converts_values() {
+        String sort = "departmentId,asc;id,asc";
+        String token = new KeysetCursor(sort, List.of(3), 7L).encode();
+
+        assertThat(KeysetCursor.decode(token, sort, List.of(Long.class)).getValues()).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("checkSize accepts 1 to MAX_SIZE")
+    void page_size_bounds() {
+        assertThat(PageResponse.checkSize(1)).isEqualTo(1);
+        assertThat(PageResponse.checkSize(PageResponse.MAX_SIZE)).isEqualTo(PageResponse.MAX_SIZE);
+        assertThatThrownBy(() -> PageResponse.checkSize(0)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> PageResponse.checkSize(PageResponse.MAX_SIZE + 1))
+                .isInstanceOf(ValidationException.class);
+    }
+}
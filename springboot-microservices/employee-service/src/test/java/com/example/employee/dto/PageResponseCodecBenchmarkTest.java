@@ -0,0 +1,100 @@
+package com.example.employee.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares payload size and encode/decode time of a full {@code PageResponse<EmployeeDTO>} page
+ * in JSON, CBOR and Smile. Round trips and sizes are asserted; timings are a rough single-threaded
+ * average after warm-up, published as report entries. Left out of the default build, run it with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("PageResponse codec benchmark")
+class PageResponseCodecBenchmarkTest {
+
+    private static final int EMPLOYEES = 500;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+    private static final TypeReference<PageResponse<EmployeeDTO>> PAGE_TYPE = new TypeReference<>() {
+    };
+
+    static PageResponse<EmployeeDTO> page;
+
+    @BeforeAll
+    static void buildPage() {
+        List<EmployeeDTO> content = new ArrayList<>(EMPLOYEES);
+        for (long i = 1; i <= EMPLOYEES; i++) {
+            DepartmentDTO department = new DepartmentDTO();
+            department.setId(i % 20);
+            department.setName("Department " + i % 20);
+            department.setCode("D" + i % 20);
+            content.add(EmployeeDTO.builder()
+                    .id(i)
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("user" + i + "@example.com")
+                    .departmentId(i % 20)
+                    .department(department)
+                    .build());
+        }
+        page = PageResponse.from(new PageImpl<>(content, PageRequest.of(0, EMPLOYEES, Sort.by("id")), 100_000L));
+    }
+
+    @Test
+    @DisplayName("binary formats round-trip and are smaller than JSON")
+    void compare_formats(TestReporter reporter) throws Exception {
+        Result json = measure("json", new JsonMapper());
+        Result cbor = measure("cbor", new CBORMapper());
+        Result smile = measure("smile", new SmileMapper());
+
+        for (Result result : List.of(json, cbor, smile)) {
+            reporter.publishEntry(result.format(), String.format("%d bytes, encode %.1f µs, decode %.1f µs",
+                    result.bytes(), result.encodeNanos() / 1000.0, result.decodeNanos() / 1000.0));
+        }
+
+        assertThat(cbor.bytes()).isLessThan(json.bytes());
+        assertThat(smile.bytes()).isLessThan(json.bytes());
+    }
+
+    private static Result measure(String format, ObjectMapper mapper) throws Exception {
+        byte[] bytes = mapper.writeValueAsBytes(page);
+        PageResponse<EmployeeDTO> decoded = mapper.readValue(bytes, PAGE_TYPE);
+        assertThat(decoded).isEqualTo(page);
+
+        for (int i = 0; i < WARMUP; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(page), PAGE_TYPE);
+        }
+        long encode = 0;
+        long decode = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            byte[] encoded = mapper.writeValueAsBytes(page);
+            long middle = System.nanoTime();
+            mapper.readValue(encoded, PAGE_TYPE);
+            long end = System.nanoTime();
+            encode += middle - start;
+            decode += end - middle;
+        }
+        return new Result(format, bytes.length, encode / ITERATIONS, decode / ITERATIONS);
+    }
+
+    private record Result(String format, int bytes, long encodeNanos, long decodeNanos) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.employee.dto;
+
+import com.example.exception.common.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SortCatalog")
+class SortCatalogTest {
+
+    @Test
+    @DisplayName("appends id as the tiebreak in the sort direction")
+    void parse_appends_id_tiebreak() {
+        assertThat(SortCatalog.EMPLOYEES.parse("lastName,desc"))
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "lastName", "id"));
+        assertThat(SortCatalog.EMPLOYEES.parse("id,asc")).isEqualTo(Sort.by("id"));
+        assertThat(SortCatalog.EMPLOYEES.parse(null)).isEqualTo(Sort.by("id"));
+    }
+
+    @Test
+    @DisplayName("accepts declared multi-key sorts")
+    void parse_accepts_multi_key_sorts() {
+        assertThat(SortCatalog.EMPLOYEES.parse("lastName;firstName;id"))
+                .isEqualTo(Sort.by("lastName", "firstName", "id"));
+    }
+
+    @Test
+    @DisplayName("rejects undeclared fields, key orders and mixed directions")
+    void parse_rejects_unsupported_sorts() {
+        assertThatThrownBy(() -> SortCatalog.EMPLOYEES.parse("departmentId"))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> SortCatalog.EMPLOYEES.parse("firstName;lastName"))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> SortCatalog.EMPLOYEES.parse("lastName,asc;firstName,desc"))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> SortCatalog.EMPLOYEES.parse("id;lastName"))
+                .isInstanceOf(ValidationException.class);
+    }
+}
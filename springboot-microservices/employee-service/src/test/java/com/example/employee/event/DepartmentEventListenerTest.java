@@ -0,0 +1,84 @@
+package com.example.employee.event;
+
+import com.example.employee.cache.DepartmentCache;
+import com.example.employee.service.DepartmentRefSynchronizer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DepartmentEventListener")
+class DepartmentEventListenerTest {
+
+    @Mock
+    DepartmentCache departmentCache;
+
+    @Mock
+    DepartmentRefSynchronizer synchronizer;
+
+    DepartmentEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new DepartmentEventListener(departmentCache, synchronizer, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("evicts the changed department from the cache")
+    void cache_event_evicts_department() {
+        listener.onDepartmentEvent("{\"event\":\"DEPARTMENT_UPDATED\",\"id\":7,\"name\":\"HR\"}");
+
+        verify(departmentCache).evict(7L);
+        verify(departmentCache, never()).evictAll();
+    }
+
+    @Test
+    @DisplayName("clears the cache when an event cannot be read")
+    void unreadable_cache_event_clears_cache() {
+        listener.onDepartmentEvent("not json");
+
+        verify(departmentCache).evictAll();
+    }
+
+    @Test
+    @DisplayName("upserts created and updated departments into department_ref")
+    void change_event_upserts_ref() throws Exception {
+        listener.onDepartmentChange("{\"event\":\"DEPARTMENT_UPDATED\",\"id\":7,\"name\":\"HR\",\"code\":\"HR1\"}");
+        listener.onDepartmentChange("{\"event\":\"DEPARTMENT_CREATED\",\"id\":8,\"name\":\"Sales\"}");
+
+        verify(synchronizer).apply(7L, "HR", "HR1");
+        verify(synchronizer).apply(8L, "Sales", null);
+    }
+
+    @Test
+    @DisplayName("removes deleted departments from department_ref")
+    void delete_event_removes_ref() throws Exception {
+        listener.onDepartmentChange("{\"event\":\"DEPARTMENT_DELETED\",\"id\":7}");
+
+        verify(synchronizer).remove(7L);
+        verify(synchronizer, never()).apply(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("fails on unreadable change events so the container can retry them")
+    void unreadable_change_event_fails() {
+        assertThatThrownBy(() -> listener.onDepartmentChange("not json")).isInstanceOf(Exception.class);
+
+        verifyNoInteractions(synchronizer);
+    }
+
+    @Test
+    @DisplayName("ignores change events that carry no name")
+    void nameless_change_event_is_ignored() throws Exception {
+        listener.onDepartmentChange("{\"event\":\"DEPARTMENT_UPDATED\",\"id\":7}");
+
+        verifyNoInteractions(synchronizer);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.employee.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmployeeEventProducer")
+class EmployeeEventProducerTest {
+
+    @Mock
+    KafkaTemplate<String, String> kafkaTemplate;
+
+    EmployeeEventProducer producer;
+
+    @BeforeEach
+    void setUp() {
+        producer = new EmployeeEventProducer(kafkaTemplate);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("the reassigned event is sent only once the transaction commits")
+    void reassigned_event_waits_for_commit() {
+        producer.sendEmployeesReassignedEvent(1L, 2L, 3);
+
+        verify(kafkaTemplate, never()).send(anyString(), anyString());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(kafkaTemplate).send("employee-events",
+                "{\"event\":\"EMPLOYEES_REASSIGNED\",\"fromDepartmentId\":1,\"toDepartmentId\":2,\"count\":3}");
+    }
+
+    @Test
+    @DisplayName("a rolled-back move is never announced")
+    void rolled_back_move_is_not_sent() {
+        producer.sendEmployeesReassignedEvent(null, 2L, 1);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(kafkaTemplate, never()).send(eq("employee-events"), anyString());
+    }
+}
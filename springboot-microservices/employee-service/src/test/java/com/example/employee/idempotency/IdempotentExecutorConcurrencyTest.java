@@ -0,0 +1,145 @@
+package com.example.employee.idempotency;
+
+import com.example.employee.dto.EmployeeDTO;
+import com.example.exception.common.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Stress tests of the Idempotency-Key reservation with the in-memory store: duplicates sent at
+ * the same moment must run the action once and all receive its response.
+ */
+@DisplayName("IdempotentExecutor under concurrency")
+class IdempotentExecutorConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int ROUNDS = 50;
+
+    private final IdempotentExecutor executor = new IdempotentExecutor(
+            new InMemoryIdempotencyStore(Duration.ofMinutes(5), Duration.ofSeconds(30), 10_000),
+            new ObjectMapper(),
+            Duration.ofSeconds(10));
+
+    @Test
+    @DisplayName("concurrent duplicates run the action once and share its response")
+    void duplicates_run_once() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                String key = "key-" + round;
+                AtomicInteger runs = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<EmployeeDTO>> results = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    results.add(pool.submit(() -> {
+                        start.await();
+                        return executor.execute("create-employee", key, EmployeeDTO.class, () -> {
+                            long id = runs.incrementAndGet();
+                            sleep(5);
+                            return EmployeeDTO.builder().id(id).email(key + "@example.com").build();
+                        });
+                    }));
+                }
+                start.countDown();
+
+                for (Future<EmployeeDTO> result : results) {
+                    assertThat(result.get().getId()).isEqualTo(1L);
+                    assertThat(result.get().getEmail()).isEqualTo(key + "@example.com");
+                }
+                assertThat(runs).hasValue(1);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("a failed request releases its key, and a waiting duplicate runs instead")
+    void failure_releases_key() throws Exception {
+        CountDownLatch firstRunning = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> first = pool.submit(() -> executor.execute("create-employee", "k", EmployeeDTO.class, () -> {
+                runs.incrementAndGet();
+                firstRunning.countDown();
+                sleep(50);
+                throw new IllegalStateException("rolled back");
+            }));
+            firstRunning.await();
+
+            EmployeeDTO second = executor.execute("create-employee", "k", EmployeeDTO.class, () -> {
+                runs.incrementAndGet();
+                return EmployeeDTO.builder().id(2L).build();
+            });
+
+            assertThat(second.getId()).isEqualTo(2L);
+            assertThat(runs).hasValue(2);
+            assertThatThrownBy(first::get).hasRootCauseInstanceOf(IllegalStateException.class);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("a duplicate that outwaits the wait limit gets a conflict")
+    void slow_first_request_yields_conflict() throws Exception {
+        IdempotentExecutor impatient = new IdempotentExecutor(
+                new InMemoryIdempotencyStore(Duration.ofMinutes(5), Duration.ofSeconds(30), 100),
+                new ObjectMapper(),
+                Duration.ofMillis(20));
+        CountDownLatch firstRunning = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<EmployeeDTO> first = pool.submit(() -> impatient.execute("create-employee", "slow",
+                    EmployeeDTO.class, () -> {
+                        firstRunning.countDown();
+                        await(finish);
+                        return EmployeeDTO.builder().id(1L).build();
+                    }));
+            firstRunning.await();
+
+            assertThatThrownBy(() -> impatient.execute("create-employee", "slow", EmployeeDTO.class,
+                    () -> EmployeeDTO.builder().id(2L).build()))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessageContaining("still in progress");
+
+            finish.countDown();
+            assertThat(first.get().getId()).isEqualTo(1L);
+            assertThat(impatient.execute("create-employee", "slow", EmployeeDTO.class,
+                    () -> EmployeeDTO.builder().id(3L).build()).getId()).isEqualTo(1L);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.employee.idempotency;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reserve, complete and release against a real Redis, including duplicates racing for one key.
+ */
+@Testcontainers
+@DisplayName("RedisIdempotencyStore")
+class RedisIdempotencyStoreTest {
+
+    private static final int THREADS = 16;
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate template;
+
+    private RedisIdempotencyStore store;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        template = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        template.delete(template.keys("employee:idempotency:*"));
+        store = new RedisIdempotencyStore(template, Duration.ofMinutes(5), Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("the first reserve acquires, a completed key replays its response")
+    void reserve_then_complete() {
+        IdempotencyStore.Claim claim = store.reserve("k", Duration.ZERO);
+        assertThat(claim.status()).isEqualTo(IdempotencyStore.Claim.Status.ACQUIRED);
+
+        store.complete(claim, "{\"id\":1}");
+
+        IdempotencyStore.Claim replay = store.reserve("k", Duration.ZERO);
+        assertThat(replay.status()).isEqualTo(IdempotencyStore.Claim.Status.COMPLETED);
+        assertThat(replay.response()).isEqualTo("{\"id\":1}");
+        assertThat(template.getExpire("employee:idempotency:k", TimeUnit.SECONDS)).isPositive();
+    }
+
+    @Test
+    @DisplayName("a held key is in flight for a duplicate that does not wait")
+    void held_key_is_in_flight() {
+        store.reserve("k", Duration.ZERO);
+
+        assertThat(store.reserve("k", Duration.ofMillis(50)).status())
+                .isEqualTo(IdempotencyStore.Claim.Status.IN_FLIGHT);
+    }
+
+    @Test
+    @DisplayName("release frees the key, but only for the reservation's owner")
+    void release_frees_own_reservation() {
+        IdempotencyStore.Claim first = store.reserve("k", Duration.ZERO);
+        store.release(first);
+        IdempotencyStore.Claim second = store.reserve("k", Duration.ZERO);
+        assertThat(second.status()).isEqualTo(IdempotencyStore.Claim.Status.ACQUIRED);
+
+        // A stale owner releasing again must not free the new reservation
+        store.release(first);
+        assertThat(store.reserve("k", Duration.ZERO).status()).isEqualTo(IdempotencyStore.Claim.Status.IN_FLIGHT);
+
+        // Nor a completed key
+        store.complete(second, "{}");
+        store.release(second);
+        assertThat(store.reserve("k", Duration.ZERO).status()).isEqualTo(IdempotencyStore.Claim.Status.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("concurrent duplicates: one acquires, the others wait and receive its response")
+    void concurrent_duplicates_share_one_response() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<IdempotencyStore.Claim>> claims = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                claims.add(pool.submit(() -> {
+                    start.await();
+                    IdempotencyStore.Claim claim = store.reserve("k", Duration.ofSeconds(10));
+                    if (claim.status() == IdempotencyStore.Claim.Status.ACQUIRED) {
+                        Thread.sleep(100);
+                        store.complete(claim, "{\"id\":1}");
+                    }
+                    return claim;
+                }));
+            }
+            start.countDown();
+
+            int acquired = 0;
+            for (Future<IdempotencyStore.Claim> future : claims) {
+                IdempotencyStore.Claim claim = future.get(20, TimeUnit.SECONDS);
+                if (claim.status() == IdempotencyStore.Claim.Status.ACQUIRED) {
+                    acquired++;
+                } else {
+                    assertThat(claim.status()).isEqualTo(IdempotencyStore.Claim.Status.COMPLETED);
+                    assertThat(claim.response()).isEqualTo("{\"id\":1}");
+                }
+            }
+            assertThat(acquired).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("a released key is taken over by exactly one waiting duplicate")
+    void released_key_is_taken_over_once() throws Exception {
+        IdempotencyStore.Claim owner = store.reserve("k", Duration.ZERO);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<IdempotencyStore.Claim>> claims = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                claims.add(pool.submit(() -> store.reserve("k", Duration.ofSeconds(1))));
+            }
+            Thread.sleep(100);
+            store.release(owner);
+
+            long acquired = 0;
+            for (Future<IdempotencyStore.Claim> future : claims) {
+                IdempotencyStore.Claim claim = future.get(20, TimeUnit.SECONDS);
+                if (claim.status() == IdempotencyStore.Claim.Status.ACQUIRED) {
+                    acquired++;
+                } else {
+                    // The new owner never completes, so the rest time out
+                    assertThat(claim.status()).isEqualTo(IdempotencyStore.Claim.Status.IN_FLIGHT);
+                }
+            }
+            assertThat(acquired).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
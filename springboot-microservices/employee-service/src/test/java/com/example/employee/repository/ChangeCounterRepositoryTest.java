@@ -0,0 +1,67 @@
+package com.example.employee.repository;
+
+import com.example.employee.PostgresIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ChangeCounterRepository")
+class ChangeCounterRepositoryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ChangeCounterRepository changeCounters;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("concurrent writers to the same table do not wait on each other")
+    void writers_do_not_serialize() throws Exception {
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            try (Statement a = first.createStatement(); Statement b = second.createStatement()) {
+                a.executeUpdate(insert("a@example.com"));
+                // Fails with a lock timeout if the first, still open, transaction holds a shared row
+                b.execute("SET LOCAL lock_timeout = '1s'");
+                b.executeUpdate(insert("b@example.com"));
+                second.commit();
+                first.commit();
+            }
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM employee.employees", Long.class)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("every statement counts once, uncommitted ones not yet, and compaction keeps the total")
+    void changes_count_committed_statements() throws Exception {
+        long before = changeCounters.changes("employees");
+        employee("Ada", "Lovelace", "ada@example.com", null);
+        jdbcTemplate.update("UPDATE employee.employees SET first_name = upper(first_name)");
+        assertThat(changeCounters.changes("employees")).isEqualTo(before + 2);
+
+        try (Connection open = dataSource.getConnection()) {
+            open.setAutoCommit(false);
+            try (Statement statement = open.createStatement()) {
+                statement.executeUpdate(insert("grace@example.com"));
+                assertThat(changeCounters.changes("employees")).isEqualTo(before + 2);
+                open.rollback();
+            }
+        }
+
+        changeCounters.compact("employees");
+        assertThat(changeCounters.changes("employees")).isEqualTo(before + 2);
+        assertThat(changeCounters.compact("employees")).isZero();
+    }
+
+    private static String insert(String email) {
+        return "INSERT INTO employee.employees (first_name, last_name, email) VALUES ('F', 'L', '" + email + "')";
+    }
+}
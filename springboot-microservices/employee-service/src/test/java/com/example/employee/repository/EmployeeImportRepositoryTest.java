@@ -0,0 +1,189 @@
+package com.example.employee.repository;
+
+import com.example.employee.PostgresIntegrationTest;
+import com.example.employee.dto.ImportErrorDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * COPY, check and merge against the real schema. Line numbers count the header as line 1.
+ */
+@DisplayName("EmployeeImportRepository")
+class EmployeeImportRepositoryTest extends PostgresIntegrationTest {
+
+    private static final String HEADER = "first_name,last_name,email,department_id\n";
+
+    @Autowired
+    private EmployeeImportRepository importRepository;
+
+    @Autowired
+    private ImportJobRepository jobs;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private long jobId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jobId = jobs.create("employees.csv", 0);
+        department(1L, "Engineering", "ENG");
+    }
+
+    @Test
+    @DisplayName("each check rejects its line with its reason, numbered from the header")
+    void rejects_invalid_lines() {
+        employee("Eve", "Taken", "taken@example.com", null);
+
+        long imported = importCsv(HEADER
+                + "Ada,Lovelace,ada@example.com,1\n"
+                + "Alan,Turing,alan@example.com,\n"
+                + ",Hopper,grace@example.com,1\n"
+                + "Bob,Smith,not-an-email,\n"
+                + "Carl,Jones,carl@example.com,abc\n"
+                + "Dan,Brown,dan@example.com,99\n"
+                + "Eve,Again,taken@example.com,\n"
+                + "Ada,Twice,ada@example.com,1\n"
+                + "x".repeat(121) + ",Long,long@example.com,\n");
+
+        assertThat(imported).isEqualTo(2);
+        assertThat(errors()).containsExactly(
+                new ImportErrorDTO(4, "grace@example.com", "first_name, last_name and email are required"),
+                new ImportErrorDTO(5, "not-an-email", "invalid email"),
+                new ImportErrorDTO(6, "carl@example.com", "invalid department_id"),
+                new ImportErrorDTO(7, "dan@example.com", "unknown department"),
+                new ImportErrorDTO(8, "taken@example.com", "email already exists"),
+                new ImportErrorDTO(9, "ada@example.com", "duplicate email in file"),
+                new ImportErrorDTO(10, "long@example.com", "value too long"));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT last_name FROM employee.employees WHERE email = 'ada@example.com'", String.class))
+                .isEqualTo("Lovelace");
+    }
+
+    @Test
+    @DisplayName("blank cells count as missing and values are trimmed")
+    void trims_values() {
+        long imported = importCsv(HEADER
+                + " Ada , Lovelace , ada@example.com , 1 \n"
+                + "Alan,  ,alan@example.com,\n");
+
+        assertThat(imported).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForMap(
+                "SELECT first_name, department_id FROM employee.employees WHERE email = 'ada@example.com'"))
+                .containsEntry("first_name", "Ada")
+                .containsEntry("department_id", 1L);
+        assertThat(errors()).extracting(ImportErrorDTO::lineNumber).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("inserted employees are added to the headcounts, without a department under 0")
+    void adds_headcounts() {
+        jdbcTemplate.update("INSERT INTO employee.department_headcount (department_id, headcount) VALUES (1, 3)");
+
+        importCsv(HEADER
+                + "Ada,Lovelace,ada@example.com,1\n"
+                + "Alan,Turing,alan@example.com,1\n"
+                + "Grace,Hopper,grace@example.com,\n"
+                + "Bob,Smith,not-an-email,1\n");
+
+        assertThat(headcount(1L)).isEqualTo(5);
+        assertThat(headcount(0L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("an email committed by another writer during the merge is rejected by ON CONFLICT")
+    void concurrent_email_is_rejected() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        // Another writer takes the email but has not committed when the import checks and merges
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    employee("Ada", "Elsewhere", "ada@example.com", null);
+                    inserted.countDown();
+                    await(commit);
+                }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Long> merge = CompletableFuture.supplyAsync(() -> importCsv(HEADER
+                + "Ada,Lovelace,ada@example.com,1\n"
+                + "Alan,Turing,alan@example.com,1\n"));
+        Thread.sleep(500);
+        // The INSERT waits for the other writer's index entry, so the check did not see it
+        assertThat(merge).isNotDone();
+
+        commit.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+
+        assertThat(merge.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(errors()).containsExactly(new ImportErrorDTO(2, "ada@example.com", "email already exists"));
+        assertThat(headcount(1L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("an open import does not block writers of other departments")
+    void import_does_not_block_other_writers() throws Exception {
+        CountDownLatch merged = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> importing = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    importRepository.load(csv(HEADER + "Ada,Lovelace,ada@example.com,1\n"));
+                    importRepository.merge(jobId);
+                    merged.countDown();
+                    await(commit);
+                }));
+        try {
+            assertThat(merged.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // Fails with "canceling statement due to lock timeout" if it queues behind the import
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '2s'");
+                employee("Alan", "Turing", "alan@example.com", 2L);
+            });
+        } finally {
+            commit.countDown();
+            importing.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM employee.employees", Long.class))
+                .isEqualTo(2);
+    }
+
+    private long importCsv(String content) {
+        Long imported = transactionTemplate.execute(status -> {
+            importRepository.load(csv(content));
+            return importRepository.merge(jobId);
+        });
+        return imported != null ? imported : 0;
+    }
+
+    private List<ImportErrorDTO> errors() {
+        return jobs.findErrors(jobId, 0, 100);
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
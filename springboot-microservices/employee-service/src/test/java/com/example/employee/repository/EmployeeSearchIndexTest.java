@@ -0,0 +1,157 @@
+package com.example.employee.repository;
+
+import com.example.employee.dto.EmployeeSearchRequest;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL, seeds a large table and checks that the
+ * planner picks the V5 indexes for the SQL Hibernate actually generates from
+ * {@link EmployeeSpecifications}. The statement is captured with a {@link StatementInspector},
+ * prepared, and explained with the filter values bound.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.employee.repository.EmployeeSearchIndexTest$CapturedSql")
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Employee search index usage")
+class EmployeeSearchIndexTest {
+
+    private static final PageRequest PAGE = PageRequest.of(0, 500, Sort.by("id"));
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO employee.employees (first_name, last_name, email, department_id)
+                SELECT 'First' || g, 'Last' || g, 'user' || g || '@example.com', g % 200
+                FROM generate_series(1, 100000) AS g
+                """);
+        jdbcTemplate.execute("ANALYZE employee.employees");
+    }
+
+    @Test
+    @DisplayName("email filter uses the trigram index")
+    void emailFilterUsesTrigramIndex() {
+        EmployeeSearchRequest filters = new EmployeeSearchRequest();
+        filters.setEmail("USER4242");
+
+        assertThat(plan(() -> repository.findRows(filters, null, PAGE), "%user4242%"))
+                .contains("idx_employees_email_trgm");
+    }
+
+    @Test
+    @DisplayName("last name filter uses the trigram index")
+    void lastNameFilterUsesTrigramIndex() {
+        EmployeeSearchRequest filters = new EmployeeSearchRequest();
+        filters.setLastName("Last4242");
+
+        assertThat(plan(() -> repository.findRows(filters, null, PAGE), "%last4242%"))
+                .contains("idx_employees_last_name_trgm");
+    }
+
+    @Test
+    @DisplayName("name search uses the full name trigram index")
+    void nameSearchUsesTrigramIndex() {
+        assertThat(plan(() -> repository.findRows(null, "First4242 Last", PAGE),
+                "%first4242 last%", "%first4242 last%"))
+                .contains("idx_employees_full_name_trgm");
+    }
+
+    @Test
+    @DisplayName("department filter uses the btree index")
+    void departmentFilterUsesIndex() {
+        EmployeeSearchRequest filters = new EmployeeSearchRequest();
+        filters.setDepartmentId(42L);
+
+        assertThat(plan(() -> repository.findRows(filters, null, PAGE), 42L))
+                .contains("idx_employees_department_id");
+    }
+
+    /**
+     * Run the query, then EXPLAIN the first statement it sent with the given filter values bound;
+     * the remaining parameters are the offset and row limit of {@link #PAGE}.
+     */
+    private String plan(Runnable query, Object... filterValues) {
+        CapturedSql.STATEMENTS.clear();
+        query.run();
+        String sql = CapturedSql.STATEMENTS.get(0);
+
+        Matcher placeholders = Pattern.compile("\\?").matcher(sql);
+        StringBuilder prepared = new StringBuilder();
+        int count = 0;
+        while (placeholders.find()) {
+            placeholders.appendReplacement(prepared, "\\$" + ++count);
+        }
+        placeholders.appendTail(prepared);
+
+        List<Object> values = new ArrayList<>(List.of(filterValues));
+        if (count - values.size() == 2) {
+            values.add(PAGE.getOffset());
+        }
+        while (values.size() < count) {
+            values.add(PAGE.getPageSize());
+        }
+        String arguments = String.join(", ", values.stream()
+                .map(value -> value instanceof String text ? "'" + text.replace("'", "''") + "'" : value.toString())
+                .toList());
+
+        jdbcTemplate.execute("PREPARE captured AS " + prepared);
+        try {
+            return String.join("\n", jdbcTemplate.queryForList(
+                    "EXPLAIN EXECUTE captured(" + arguments + ")", String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE captured");
+        }
+    }
+
+    /**
+     * Records every statement Hibernate prepares, unchanged.
+     */
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.employee.repository;
+
+import com.example.employee.PostgresIntegrationTest;
+import com.example.employee.domain.Employee;
+import com.example.employee.dto.EmployeeDTO;
+import com.example.employee.service.EmployeeService;
+import com.example.exception.resource.DuplicateResourceException;
+import com.example.exception.resource.ResourceNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * PUT and PATCH through the single UPDATE ... RETURNING statements, with the second-level cache on
+ * so the after-commit eviction is exercised.
+ */
+@TestPropertySource(properties = "employee.entity-cache.enabled=true")
+@DisplayName("EmployeeUpdateRepository")
+class EmployeeUpdateRepositoryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EmployeeUpdateRepository updateRepository;
+
+    @Autowired
+    private EmployeeRepository repository;
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("replace sets every column, bumps the version and reports the previous department")
+    void replace_returns_stored_row() {
+        department(2L, "Engineering", "ENG");
+        long id = employee("Ada", "Lovelace", "ada@example.com", 1L);
+
+        EmployeeUpdateRepository.Updated updated = updateRepository
+                .replace(id, "Augusta", "King", "augusta@example.com", 2L)
+                .orElseThrow();
+
+        assertThat(updated.row().firstName()).isEqualTo("Augusta");
+        assertThat(updated.row().email()).isEqualTo("augusta@example.com");
+        assertThat(updated.row().departmentName()).isEqualTo("Engineering");
+        assertThat(updated.previousDepartmentId()).isEqualTo(1L);
+        assertThat(updated.version()).isEqualTo(1L);
+        assertThat(repository.findVersionById(id)).contains(1L);
+    }
+
+    @Test
+    @DisplayName("patch keeps the columns it is not given")
+    void patch_keeps_null_columns() {
+        long id = employee("Ada", "Lovelace", "ada@example.com", 1L);
+
+        EmployeeUpdateRepository.Updated updated = updateRepository
+                .patch(id, null, "King", null, null)
+                .orElseThrow();
+
+        assertThat(updated.row().firstName()).isEqualTo("Ada");
+        assertThat(updated.row().lastName()).isEqualTo("King");
+        assertThat(updated.row().email()).isEqualTo("ada@example.com");
+        assertThat(updated.row().departmentId()).isEqualTo(1L);
+        assertThat(updated.version()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("an unknown id updates nothing")
+    void unknown_id_is_empty() {
+        assertThat(updateRepository.replace(404L, "A", "B", "c@example.com", null)).isEmpty();
+        assertThat(updateRepository.patch(404L, "A", null, null, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("a taken email surfaces as DuplicateKeyException, and as 409 from the service")
+    void duplicate_email() {
+        employee("Grace", "Hopper", "grace@example.com", null);
+        long id = employee("Ada", "Lovelace", "ada@example.com", null);
+
+        assertThatThrownBy(() -> updateRepository.patch(id, null, null, "grace@example.com", null))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThatThrownBy(() -> service.patch(id, EmployeeDTO.builder().email("grace@example.com").build()))
+                .isInstanceOf(DuplicateResourceException.class);
+        assertThat(repository.findVersionById(id)).contains(0L);
+    }
+
+    @Test
+    @DisplayName("an unknown employee is 404 before department-service is asked about the department")
+    void unknown_employee_is_404_before_remote_call() {
+        EmployeeDTO dto = EmployeeDTO.builder()
+                .firstName("A").lastName("B").email("a@example.com").departmentId(7L).build();
+
+        assertThatThrownBy(() -> service.update(404L, dto)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> service.patch(404L, dto)).isInstanceOf(ResourceNotFoundException.class);
+        verify(departmentClient, never()).getDepartment(anyLong());
+    }
+
+    @Test
+    @DisplayName("moving an employee between departments adjusts both headcounts")
+    void department_move_adjusts_headcounts() {
+        remoteDepartments(1L, 2L);
+        Long id = service.create(EmployeeDTO.builder()
+                .firstName("Ada").lastName("Lovelace").email("ada@example.com").departmentId(1L).build()).getId();
+        assertThat(headcount(1L)).isEqualTo(1);
+
+        service.patch(id, EmployeeDTO.builder().departmentId(2L).build());
+        assertThat(headcount(1L)).isZero();
+        assertThat(headcount(2L)).isEqualTo(1);
+
+        service.update(id, EmployeeDTO.builder()
+                .firstName("Ada").lastName("Lovelace").email("ada@example.com").build());
+        assertThat(headcount(2L)).isZero();
+        assertThat(headcount(0L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("the cached entity is evicted once the update commits")
+    void update_evicts_second_level_cache() {
+        long id = employee("Ada", "Lovelace", "ada@example.com", null);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> repository.findById(id));
+        assertThat(entityManagerFactory.getCache().contains(Employee.class, id)).isTrue();
+
+        service.patch(id, EmployeeDTO.builder().firstName("Augusta").build());
+
+        assertThat(entityManagerFactory.getCache().contains(Employee.class, id)).isFalse();
+        assertThat(repository.findById(id)).map(Employee::getFirstName).contains("Augusta");
+    }
+}
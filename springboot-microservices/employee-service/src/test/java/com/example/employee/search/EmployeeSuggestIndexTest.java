@@ -0,0 +1,82 @@
+package com.example.employee.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EmployeeSuggestIndex")
+class EmployeeSuggestIndexTest {
+
+    EmployeeSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeSuggestIndex(new SimpleMeterRegistry());
+        index.put(employee(1L, "Alice", "Nguyen", "alice@example.com"));
+        index.put(employee(2L, "Alan", "Martinez", "alan.m@example.com"));
+        index.put(employee(3L, "Bob", "Allen", "bob@example.com"));
+        index.ready();
+    }
+
+    @Test
+    @DisplayName("matches prefixes of first name, last name, full name and email")
+    void suggest_matches_all_terms() {
+        assertThat(ids(index.suggest("al", 10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(index.suggest("alice ng", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("BOB@", 10))).containsExactly(3L);
+        assertThat(index.suggest("x", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("returns each employee once, in trie order, up to the limit")
+    void suggest_limits_and_orders() {
+        assertThat(ids(index.suggest("al", 2))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("updates replace terms and removals prune the trie")
+    void put_and_remove_keep_trie_current() {
+        long memoryBefore = index.memoryBytes();
+
+        index.put(employee(2L, "Zed", "Martinez", "zed@example.com"));
+        assertThat(ids(index.suggest("alan", 10))).isEmpty();
+        assertThat(ids(index.suggest("ze", 10))).containsExactly(2L);
+
+        index.put(employee(4L, "Quinn", "Quirk", "q@example.com"));
+        index.remove(4L);
+        assertThat(index.suggest("qu", 10)).isEmpty();
+
+        index.put(employee(2L, "Alan", "Martinez", "alan.m@example.com"));
+        assertThat(index.memoryBytes()).isEqualTo(memoryBefore);
+    }
+
+    @Test
+    @DisplayName("memory estimate counts object and array headers, not just payload")
+    void memory_counts_headers() {
+        EmployeeSuggestIndex empty = new EmployeeSuggestIndex(new SimpleMeterRegistry());
+        // The root node: 12-byte header and three references
+        assertThat(empty.memoryBytes()).isEqualTo(24);
+
+        empty.put(new IndexedEmployee(1L, "a", null, null, null));
+        // Terms "a" and "a ": three 24-byte nodes; two labels/children array pairs of 24 + 24 and two
+        // single-id arrays of 24; the record 32, its map entry 32, its boxed id 16 and "a" 24 + 24;
+        // the map's initial table of 16 references, 80
+        assertThat(empty.memoryBytes()).isEqualTo(3 * 24 + 2 * 48 + 2 * 24 + 32 + 32 + 16 + 48 + 80);
+
+        empty.remove(1L);
+        assertThat(empty.memoryBytes()).isEqualTo(24);
+    }
+
+    private static List<Long> ids(List<IndexedEmployee> employees) {
+        return employees.stream().map(IndexedEmployee::id).toList();
+    }
+
+    private static IndexedEmployee employee(Long id, String first, String last, String email) {
+        return new IndexedEmployee(id, first, last, email, null);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.employee.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EmployeeTextIndex")
+class EmployeeTextIndexTest {
+
+    EmployeeTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeTextIndex(new SimpleMeterRegistry());
+        index.put(employee(1L, "Alice", "Nguyen", "alice@example.com"));
+        index.put(employee(2L, "Bob", "Martinez", "bob@example.com"));
+        index.put(employee(3L, "Malice", "Brown", "mb@example.com"));
+        index.ready();
+    }
+
+    @Test
+    @DisplayName("matches substrings of the full name and email like the SQL search")
+    void search_matches_substrings() {
+        assertThat(ids(index.search("lice", 0, 10))).containsExactly(1L, 3L);
+        assertThat(ids(index.search("ice ngu", 0, 10))).containsExactly(1L);
+        assertThat(ids(index.search("BOB@EXAMPLE", 0, 10))).containsExactly(2L);
+        assertThat(index.search("zzz", 0, 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("ranks matches at the start above matches inside a word")
+    void search_ranks_by_position() {
+        assertThat(ids(index.search("alice", 0, 10))).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("short queries match word prefixes only")
+    void search_short_query_matches_word_prefixes() {
+        assertThat(ids(index.search("ma", 0, 10))).containsExactly(3L, 2L);
+        assertThat(index.search("ez", 0, 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("pages ranked results and reports the total")
+    void search_pages_results() {
+        EmployeeTextIndex.SearchResult result = index.search("example", 1, 1);
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(ids(result)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("updates replace and removals drop documents")
+    void put_and_remove_keep_index_current() {
+        index.put(employee(2L, "Robert", "Martinez", "robert@example.com"));
+        index.remove(1L);
+
+        assertThat(index.search("bob", 0, 10).total()).isZero();
+        assertThat(ids(index.search("robert", 0, 10))).containsExactly(2L);
+        assertThat(ids(index.search("lice", 0, 10))).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("compaction keeps search results intact")
+    void compaction_preserves_results() {
+        for (long id = 10; id < 2000; id++) {
+            index.put(employee(id, "First" + id, "Last" + id, "user" + id + "@example.com"));
+        }
+        for (long id = 10; id < 1500; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(503);
+        assertThat(ids(index.search("first1999", 0, 10))).containsExactly(1999L);
+        assertThat(index.search("first1499", 0, 10).total()).isZero();
+    }
+
+    private static List<Long> ids(EmployeeTextIndex.SearchResult result) {
+        return result.employees().stream().map(IndexedEmployee::id).toList();
+    }
+
+    private static IndexedEmployee employee(Long id, String first, String last, String email) {
+        return new IndexedEmployee(id, first, last, email, null);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.employee.service;
+
+import com.example.employee.cache.DepartmentCache;
+import com.example.employee.client.DepartmentClient;
+import com.example.employee.dto.DepartmentDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DepartmentEnricher")
+class DepartmentEnricherTest {
+
+    @Mock
+    DepartmentClient departmentClient;
+
+    DepartmentCache cache;
+    ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DepartmentCache(departmentClient, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setQueueCapacity(100);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("cached departments are used without a remote call")
+    void cached_departments_skip_remote() {
+        when(departmentClient.getDepartment(1L)).thenReturn(department(1L));
+        cache.get(1L);
+
+        DepartmentEnricher.Enrichment enrichment = enricher(2, 2, Duration.ofSeconds(1)).enrich(List.of(1L));
+
+        assertThat(enrichment.departments()).containsOnlyKeys(1L);
+        assertThat(enrichment.partial()).isFalse();
+        verify(departmentClient, never()).getDepartments(anyCollection());
+    }
+
+    @Test
+    @DisplayName("misses are fetched in batches, never more than max-concurrency at once")
+    void batches_respect_max_concurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(departmentClient.getDepartments(anyCollection())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(DepartmentEnricherTest::department).toList();
+        });
+
+        DepartmentEnricher.Enrichment enrichment = enricher(2, 2, Duration.ofSeconds(5))
+                .enrich(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L));
+
+        assertThat(enrichment.departments()).hasSize(10);
+        assertThat(enrichment.partial()).isFalse();
+        verify(departmentClient, times(5)).getDepartments(anyCollection());
+        assertThat(maxRunning).hasValueLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("a batch slower than the deadline is left out and the result is partial")
+    void deadline_returns_partial_result() {
+        when(departmentClient.getDepartments(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            if (ids.contains(3L)) {
+                Thread.sleep(2_000);
+            }
+            return ids.stream().map(DepartmentEnricherTest::department).toList();
+        });
+
+        long started = System.nanoTime();
+        DepartmentEnricher.Enrichment enrichment = enricher(2, 2, Duration.ofMillis(200))
+                .enrich(List.of(1L, 2L, 3L, 4L));
+        Duration took = Duration.ofNanos(System.nanoTime() - started);
+
+        assertThat(enrichment.partial()).isTrue();
+        assertThat(enrichment.departments()).containsOnlyKeys(1L, 2L);
+        assertThat(enrichment.get(3L)).isNull();
+        assertThat(took).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("batches queued behind a slow one are skipped once the deadline has passed")
+    void queued_batches_are_skipped_after_deadline() throws Exception {
+        when(departmentClient.getDepartments(anyCollection())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(DepartmentEnricherTest::department).toList();
+        });
+
+        DepartmentEnricher.Enrichment enrichment = enricher(1, 1, Duration.ofMillis(100))
+                .enrich(List.of(1L, 2L, 3L));
+        Thread.sleep(500);
+
+        assertThat(enrichment.partial()).isTrue();
+        assertThat(enrichment.departments()).isEmpty();
+        // The first batch was already running; the two behind it never call out
+        verify(departmentClient, times(1)).getDepartments(anyCollection());
+    }
+
+    @Test
+    @DisplayName("a failing batch makes the result partial but keeps the others")
+    void failed_batch_is_partial() {
+        when(departmentClient.getDepartments(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            if (ids.contains(1L)) {
+                throw new IllegalStateException("department-service unavailable");
+            }
+            return ids.stream().map(DepartmentEnricherTest::department).toList();
+        });
+
+        DepartmentEnricher.Enrichment enrichment = enricher(1, 2, Duration.ofSeconds(5)).enrich(List.of(1L, 2L));
+
+        assertThat(enrichment.partial()).isTrue();
+        assertThat(enrichment.departments()).containsOnlyKeys(2L);
+    }
+
+    @Test
+    @DisplayName("departments department-service does not know are absent, not partial")
+    void unknown_departments_are_complete() {
+        when(departmentClient.getDepartments(anyCollection())).thenReturn(List.of(department(1L)));
+
+        DepartmentEnricher.Enrichment enrichment = enricher(10, 2, Duration.ofSeconds(5))
+                .enrich(Set.of(1L, 99L));
+
+        assertThat(enrichment.partial()).isFalse();
+        assertThat(enrichment.departments()).containsOnlyKeys(1L);
+    }
+
+    private DepartmentEnricher enricher(int batchSize, int maxConcurrency, Duration deadline) {
+        return new DepartmentEnricher(cache, executor, batchSize, maxConcurrency, deadline);
+    }
+
+    private static DepartmentDTO department(Long id) {
+        DepartmentDTO dto = new DepartmentDTO();
+        dto.setId(id);
+        dto.setName("Department " + id);
+        return dto;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.employee.service;
+
+import com.example.employee.PostgresIntegrationTest;
+import com.example.employee.dto.DepartmentDTO;
+import com.example.employee.dto.PageResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+@TestPropertySource(properties = "department.ref.sync-page-size=2")
+@DisplayName("DepartmentRefSynchronizer")
+class DepartmentRefSynchronizerTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private DepartmentRefSynchronizer synchronizer;
+
+    @Test
+    @DisplayName("full sync upserts every page and removes departments no longer listed")
+    void fullSync_replaces_read_model() {
+        department(1L, "Old name", "OLD");
+        department(9L, "Closed", "GONE");
+        when(departmentClient.getDepartmentPage(0, 2)).thenReturn(page(0, 3, dept(1L, "Engineering", "ENG"), dept(2L, "HR", "HR")));
+        when(departmentClient.getDepartmentPage(1, 2)).thenReturn(page(1, 3, dept(3L, "Sales", null)));
+
+        assertThat(synchronizer.fullSync()).isEqualTo(3);
+
+        assertThat(names()).containsExactlyInAnyOrderEntriesOf(Map.of(1L, "Engineering", 2L, "HR", 3L, "Sales"));
+    }
+
+    @Test
+    @DisplayName("remote calls run outside any transaction")
+    void fullSync_fetches_outside_transactions() {
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        when(departmentClient.getDepartmentPage(anyInt(), anyInt())).thenAnswer(invocation -> {
+            inTransaction.compareAndSet(false, TransactionSynchronizationManager.isActualTransactionActive());
+            int number = invocation.getArgument(0);
+            return number == 0
+                    ? page(0, 3, dept(1L, "Engineering", "ENG"), dept(2L, "HR", "HR"))
+                    : page(1, 3, dept(3L, "Sales", "SAL"));
+        });
+
+        synchronizer.fullSync();
+
+        assertThat(inTransaction).isFalse();
+    }
+
+    @Test
+    @DisplayName("a failed sync keeps the pages already upserted and removes nothing")
+    void fullSync_failure_keeps_existing_rows() {
+        department(9L, "Closed", "GONE");
+        when(departmentClient.getDepartmentPage(0, 2)).thenReturn(page(0, 3, dept(1L, "Engineering", "ENG"), dept(2L, "HR", "HR")));
+        when(departmentClient.getDepartmentPage(1, 2)).thenThrow(new IllegalStateException("department-service down"));
+
+        assertThatThrownBy(() -> synchronizer.fullSync()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(names()).containsOnlyKeys(1L, 2L, 9L);
+    }
+
+    @Test
+    @DisplayName("events upsert and remove single departments")
+    void apply_and_remove() {
+        synchronizer.apply(5L, "Legal", "LEG");
+        synchronizer.apply(5L, "Legal & Compliance", "LEG");
+        synchronizer.apply(6L, "Support", null);
+        synchronizer.remove(6L);
+
+        assertThat(names()).containsExactlyEntriesOf(Map.of(5L, "Legal & Compliance"));
+    }
+
+    private Map<Long, String> names() {
+        Map<Long, String> names = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM employee.department_ref",
+                (RowCallbackHandler) rs -> names.put(rs.getLong("id"), rs.getString("name")));
+        return names;
+    }
+
+    private static PageResponse<DepartmentDTO> page(int number, long total, DepartmentDTO... departments) {
+        return PageResponse.from(new PageImpl<>(List.of(departments), PageRequest.of(number, 2), total));
+    }
+
+    private static DepartmentDTO dept(Long id, String name, String code) {
+        DepartmentDTO dto = new DepartmentDTO();
+        dto.setId(id);
+        dto.setName(name);
+        dto.setCode(code);
+        return dto;
+    }
+}
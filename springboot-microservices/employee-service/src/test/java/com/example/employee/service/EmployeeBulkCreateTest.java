@@ -0,0 +1,204 @@
+package com.example.employee.service;
+
+import com.example.employee.PostgresIntegrationTest;
+import com.example.employee.dto.BulkCreateResponse;
+import com.example.employee.dto.DepartmentDTO;
+import com.example.employee.dto.EmployeeDTO;
+import com.example.exception.common.ValidationException;
+import com.example.exception.resource.DuplicateResourceException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bulk create against the real database: per-item outcomes, the request limit and the unique
+ * constraint as the last line against concurrent writers.
+ */
+@DisplayName("EmployeeService.createAll")
+class EmployeeBulkCreateTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${employee.bulk.max-items}")
+    private int maxItems;
+
+    @Test
+    @DisplayName("valid items are created and each invalid one is reported with its reason")
+    void partial_failures() {
+        remoteDepartments(1L);
+        employee("Eve", "Taken", "taken@example.com", null);
+
+        BulkCreateResponse response = service.createAll(List.of(
+                employee("Ada", "ada@example.com", 1L),
+                employee("Bob", "not-an-email", null),
+                employee("Carl", "carl@example.com", 99L),
+                employee("Eve", "taken@example.com", null),
+                employee("Alan", "alan@example.com", null)));
+
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.failed()).isEqualTo(3);
+        assertThat(response.items()).extracting(BulkCreateResponse.Item::status).containsExactly(
+                BulkCreateResponse.Status.CREATED,
+                BulkCreateResponse.Status.FAILED,
+                BulkCreateResponse.Status.FAILED,
+                BulkCreateResponse.Status.FAILED,
+                BulkCreateResponse.Status.CREATED);
+        assertThat(response.items()).extracting(BulkCreateResponse.Item::error).containsExactly(
+                null, "VALIDATION_ERROR", "RESOURCE_NOT_FOUND", "DUPLICATE_RESOURCE", null);
+        assertThat(response.items().get(0).employee().getId()).isNotNull();
+        assertThat(count()).isEqualTo(3);
+        assertThat(headcount(1L)).isEqualTo(1);
+        assertThat(headcount(0L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("an email repeated within the request is created once")
+    void duplicate_email_in_request() {
+        BulkCreateResponse response = service.createAll(List.of(
+                employee("Ada", "ada@example.com", null),
+                employee("Ada", "ada@example.com", null)));
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.items().get(1).status()).isEqualTo(BulkCreateResponse.Status.FAILED);
+        assertThat(response.items().get(1).error()).isEqualTo("DUPLICATE_RESOURCE");
+        assertThat(count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("more than max-items employees are rejected before anything is written")
+    void max_items_limit() {
+        List<EmployeeDTO> tooMany = IntStream.rangeClosed(0, maxItems)
+                .mapToObj(i -> employee("User" + i, "user" + i + "@example.com", null))
+                .toList();
+
+        assertThatThrownBy(() -> service.createAll(tooMany))
+                .isInstanceOfSatisfying(ValidationException.class,
+                        e -> assertThat(e.getValidationErrors()).containsKey("employees"));
+        assertThat(count()).isZero();
+    }
+
+    @Test
+    @DisplayName("more distinct departments than one department-service lookup allows are all validated")
+    void many_departments() {
+        // department-service answers 400 for more than 500 ids in one lookup
+        when(departmentClient.getDepartments(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            if (ids.size() > 500) {
+                throw new IllegalStateException("more than 500 ids in one lookup");
+            }
+            return ids.stream().map(id -> {
+                DepartmentDTO dto = new DepartmentDTO();
+                dto.setId(id);
+                return dto;
+            }).toList();
+        });
+        List<EmployeeDTO> employees = IntStream.rangeClosed(1, 600)
+                .mapToObj(i -> employee("User" + i, "user" + i + "@example.com", (long) i))
+                .toList();
+
+        BulkCreateResponse response = service.createAll(employees);
+
+        assertThat(response.created()).isEqualTo(600);
+        assertThat(response.failed()).isZero();
+        assertThat(count()).isEqualTo(600);
+    }
+
+    @Test
+    @DisplayName("a missing or null body answers 400")
+    void null_body_is_bad_request() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        ResponseEntity<String> nullBody = rest.postForEntity("/api/v1/employees/bulk",
+                new HttpEntity<>("null", headers), String.class);
+        ResponseEntity<String> noBody = rest.postForEntity("/api/v1/employees/bulk",
+                new HttpEntity<>(headers), String.class);
+
+        assertThat(nullBody.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(nullBody.getBody()).contains("VALIDATION_ERROR");
+        assertThat(noBody.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("an email committed by another writer after the check fails the request with 409")
+    void concurrent_duplicate_hits_unique_constraint() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        // Another writer takes the email but has not committed when the bulk create checks it
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    employee("Ada", "Elsewhere", "ada@example.com", null);
+                    inserted.countDown();
+                    await(commit);
+                }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<BulkCreateResponse> bulk = CompletableFuture.supplyAsync(() -> service.createAll(List.of(
+                employee("Ada", "ada@example.com", null),
+                employee("Alan", "alan@example.com", null))));
+        Thread.sleep(500);
+        // The INSERT waits for the other writer's index entry
+        assertThat(bulk).isNotDone();
+
+        commit.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> bulk.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(DuplicateResourceException.class);
+        assertThat(count()).isEqualTo(1);
+        assertThat(headcount(0L)).isZero();
+    }
+
+    private static EmployeeDTO employee(String firstName, String email, Long departmentId) {
+        return EmployeeDTO.builder()
+                .firstName(firstName)
+                .lastName("Test")
+                .email(email)
+                .departmentId(departmentId)
+                .build();
+    }
+
+    private long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM employee.employees", Long.class);
+        return count != null ? count : 0;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.employee.service;
+
+import com.example.employee.PostgresIntegrationTest;
+import com.example.employee.repository.EmployeeCountEstimator;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Totals of offset pages for {@code count=exact|estimate|none}. The planner estimate is stubbed
+ * so it can be put on either side of {@code employee.count.exact-threshold}.
+ */
+@TestPropertySource(properties = "employee.count.exact-threshold=100")
+@DisplayName("Employee count modes")
+class EmployeeCountModeTest extends PostgresIntegrationTest {
+
+    @MockBean
+    private EmployeeCountEstimator countEstimator;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @BeforeEach
+    void employees() {
+        for (int i = 0; i < 5; i++) {
+            employee("User", "Number" + i, "user" + i + "@example.com", null);
+        }
+    }
+
+    @Test
+    @DisplayName("count=exact reports the counted total")
+    void exact() {
+        JsonNode page = list("exact");
+
+        assertThat(page.get("totalElements").asLong()).isEqualTo(5);
+        assertThat(page.get("totalPages").asInt()).isEqualTo(3);
+        assertThat(page.has("totalEstimated")).isFalse();
+    }
+
+    @Test
+    @DisplayName("count=none leaves every total out and only says whether there is a next page")
+    void none_omits_totals() {
+        JsonNode page = list("none");
+
+        assertThat(page.has("totalElements")).isFalse();
+        assertThat(page.has("totalPages")).isFalse();
+        assertThat(page.has("totalEstimated")).isFalse();
+        assertThat(page.get("hasNext").asBoolean()).isTrue();
+        assertThat(page.get("content")).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("count=estimate reports the planner estimate at or above the threshold")
+    void estimate_above_threshold() {
+        when(countEstimator.estimate(any(), any())).thenReturn(100L);
+
+        JsonNode page = list("estimate");
+
+        assertThat(page.get("totalElements").asLong()).isEqualTo(100);
+        assertThat(page.get("totalEstimated").asBoolean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("count=estimate counts exactly when the estimate is below the threshold")
+    void estimate_below_threshold_is_exact() {
+        when(countEstimator.estimate(any(), any())).thenReturn(99L);
+
+        JsonNode page = list("estimate");
+
+        assertThat(page.get("totalElements").asLong()).isEqualTo(5);
+        assertThat(page.get("totalPages").asInt()).isEqualTo(3);
+        assertThat(page.get("totalEstimated").asBoolean()).isFalse();
+    }
+
+    @Test
+    @DisplayName("an unknown count mode answers 400")
+    void invalid_count_mode() {
+        ResponseEntity<String> response = rest.getForEntity("/api/v1/employees?count=roughly", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("count");
+    }
+
+    private JsonNode list(String count) {
+        ResponseEntity<JsonNode> response = rest.getForEntity(
+                "/api/v1/employees?page=0&size=2&count={count}", JsonNode.class, count);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.employee.service;
+
+import com.example.employee.PostgresIntegrationTest;
+import com.example.employee.dto.EmployeeDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * POST /employees responses, with departments expanded from department_ref.
+ */
+@DisplayName("Employee create")
+class EmployeeCreateTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    @DisplayName("the created employee comes back with its department expanded")
+    void create_expands_department() {
+        remoteDepartments(3L);
+        department(3L, "Engineering", "ENG");
+
+        ResponseEntity<EmployeeDTO> response = rest.postForEntity("/api/v1/employees",
+                EmployeeDTO.builder().firstName("Ada").lastName("Lovelace")
+                        .email("ada@example.com").departmentId(3L).build(),
+                EmployeeDTO.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        EmployeeDTO created = response.getBody();
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getDepartmentId()).isEqualTo(3L);
+        assertThat(created.getDepartment()).isNotNull();
+        assertThat(created.getDepartment().getId()).isEqualTo(3L);
+        assertThat(created.getDepartment().getName()).isEqualTo("Engineering");
+        assertThat(created.getDepartment().getCode()).isEqualTo("ENG");
+    }
+
+    @Test
+    @DisplayName("an employee without a department has no department in the response")
+    void create_without_department() {
+        ResponseEntity<EmployeeDTO> response = rest.postForEntity("/api/v1/employees",
+                EmployeeDTO.builder().firstName("Grace").lastName("Hopper")
+                        .email("grace@example.com").build(),
+                EmployeeDTO.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().getDepartmentId()).isNull();
+        assertThat(response.getBody().getDepartment()).isNull();
+    }
+}
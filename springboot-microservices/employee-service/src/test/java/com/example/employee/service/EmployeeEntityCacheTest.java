@@ -0,0 +1,112 @@
+package com.example.employee.service;
+
+import com.example.employee.PostgresIntegrationTest;
+import com.example.employee.domain.Employee;
+import com.example.employee.dto.EmployeeDTO;
+import com.example.employee.dto.FieldSelection;
+import com.example.employee.dto.ReassignRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The employees region of the second-level cache, switched on. Creates and deletes go through
+ * Hibernate; updates and reassignments are JDBC statements that evict after commit.
+ */
+@TestPropertySource(properties = "employee.entity-cache.enabled=true")
+@DisplayName("Employee entity cache")
+class EmployeeEntityCacheTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("a repeated lookup by id is served from the cache")
+    void repeated_lookup_hits_cache() {
+        long id = employee("Ada", "Lovelace", "ada@example.com", null);
+
+        service.getById(id, FieldSelection.basic());
+        assertThat(cached(id)).isTrue();
+        service.getById(id, FieldSelection.basic());
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("update and patch evict the employee, so the next read sees the new row")
+    void update_evicts() {
+        long id = employee("Ada", "Lovelace", "ada@example.com", null);
+        service.getById(id, FieldSelection.basic());
+
+        service.update(id, EmployeeDTO.builder().firstName("Augusta").lastName("Lovelace")
+                .email("ada@example.com").build());
+
+        assertThat(cached(id)).isFalse();
+        assertThat(service.getById(id, FieldSelection.basic()).getFirstName()).isEqualTo("Augusta");
+
+        service.patch(id, EmployeeDTO.builder().lastName("King").build());
+
+        assertThat(cached(id)).isFalse();
+        assertThat(service.getById(id, FieldSelection.basic()).getLastName()).isEqualTo("King");
+    }
+
+    @Test
+    @DisplayName("a reassignment evicts every moved employee")
+    void reassign_evicts() {
+        remoteDepartments(1L, 2L);
+        long ada = employee("Ada", "Lovelace", "ada@example.com", 1L);
+        long alan = employee("Alan", "Turing", "alan@example.com", 1L);
+        service.getById(ada, FieldSelection.basic());
+        service.getById(alan, FieldSelection.basic());
+
+        ReassignRequest request = new ReassignRequest();
+        request.setFromDepartmentId(1L);
+        request.setToDepartmentId(2L);
+        service.reassign(request);
+
+        assertThat(cached(ada)).isFalse();
+        assertThat(cached(alan)).isFalse();
+        assertThat(service.getById(ada, FieldSelection.basic()).getDepartmentId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("headcount statements leave cached employees alone; a delete removes its employee")
+    void native_headcount_writes_keep_cache() {
+        long ada = employee("Ada", "Lovelace", "ada@example.com", null);
+        service.getById(ada, FieldSelection.basic());
+
+        // Adjusts department_headcount with a native statement declaring its query space
+        Long alan = service.create(EmployeeDTO.builder().firstName("Alan").lastName("Turing")
+                .email("alan@example.com").build()).getId();
+
+        assertThat(cached(ada)).isTrue();
+
+        service.delete(alan);
+
+        assertThat(cached(alan)).isFalse();
+        assertThat(cached(ada)).isTrue();
+    }
+
+    private boolean cached(long id) {
+        return entityManagerFactory.getCache().contains(Employee.class, id);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.employee.service;
+
+import com.example.employee.client.DepartmentClient;
+import com.example.employee.dto.EmployeeRow;
+import com.example.employee.dto.EmployeeSearchRequest;
+import com.example.employee.dto.ExportFormat;
+import com.example.employee.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmployeeExportService")
+class EmployeeExportServiceTest {
+
+    private static final EmployeeRow ADA = new EmployeeRow(1L, "Ada", "Love, lace", "ada@example.com", 1L,
+            "R&D \"Labs\"", "RD");
+    private static final EmployeeRow ALAN = new EmployeeRow(2L, "Alan", "Turing\nJr", "alan@example.com", null,
+            null, null);
+
+    @Mock
+    EmployeeRepository repository;
+
+    @Mock
+    DepartmentClient departmentClient;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EmployeeExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new EmployeeExportService(repository, departmentClient, objectMapper, transactionManager,
+                "local");
+        when(repository.streamRows(any(EmployeeSearchRequest.class))).thenReturn(Stream.of(ADA, ALAN));
+    }
+
+    @Test
+    @DisplayName("CSV quotes commas, quotes and line breaks and leaves missing values empty")
+    void csv_quoting() {
+        String csv = export(ExportFormat.CSV, true);
+
+        assertThat(csv).isEqualTo("""
+                id,firstName,lastName,email,departmentId,departmentName,departmentCode
+                1,Ada,"Love, lace",ada@example.com,1,"R&D ""Labs""\",RD
+                2,Alan,"Turing
+                Jr",alan@example.com,,,
+                """);
+    }
+
+    @Test
+    @DisplayName("CSV without expansion has no department columns")
+    void csv_without_expansion() {
+        String csv = export(ExportFormat.CSV, false);
+
+        assertThat(csv).startsWith("id,firstName,lastName,email,departmentId\n")
+                .contains("\n1,Ada,\"Love, lace\",ada@example.com,1\n");
+    }
+
+    @Test
+    @DisplayName("NDJSON writes one object per line, escaping line breaks inside values")
+    void ndjson_framing() throws Exception {
+        String ndjson = export(ExportFormat.NDJSON, true);
+
+        assertThat(ndjson).endsWith("\n");
+        String[] lines = ndjson.split("\n");
+        assertThat(lines).hasSize(2);
+
+        JsonNode ada = objectMapper.readTree(lines[0]);
+        assertThat(ada.get("lastName").asText()).isEqualTo("Love, lace");
+        assertThat(ada.get("departmentId").asLong()).isEqualTo(1L);
+        assertThat(ada.at("/department/name").asText()).isEqualTo("R&D \"Labs\"");
+
+        JsonNode alan = objectMapper.readTree(lines[1]);
+        assertThat(alan.get("lastName").asText()).isEqualTo("Turing\nJr");
+        assertThat(alan.has("departmentId")).isFalse();
+        assertThat(alan.has("department")).isFalse();
+    }
+
+    @Test
+    @DisplayName("returns the number of rows written")
+    void counts_rows() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(exportService.export(ExportFormat.NDJSON, new EmployeeSearchRequest(), false, out)).isEqualTo(2);
+    }
+
+    private String export(ExportFormat format, boolean expandDepartment) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(format, new EmployeeSearchRequest(), expandDepartment, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.employee.service;
+
+import com.example.employee.PostgresIntegrationTest;
+import com.example.employee.dto.EmployeeDTO;
+import com.example.employee.dto.EmployeeStatsDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The department_headcount counters behind /stats, kept by the service's writes and repaired by
+ * {@link HeadcountReconciler}.
+ */
+@DisplayName("Department headcounts")
+class EmployeeHeadcountTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private HeadcountReconciler reconciler;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("create, move and delete keep the counters and /stats current")
+    void writes_keep_counters() {
+        remoteDepartments(1L, 2L);
+
+        Long ada = service.create(employee("Ada", "ada@example.com", 1L)).getId();
+        Long alan = service.create(employee("Alan", "alan@example.com", 1L)).getId();
+        service.create(employee("Grace", "grace@example.com", null));
+
+        assertThat(headcount(1L)).isEqualTo(2);
+        assertThat(headcount(0L)).isEqualTo(1);
+
+        service.update(ada, employee("Ada", "ada@example.com", 2L));
+        service.patch(alan, EmployeeDTO.builder().departmentId(2L).build());
+        service.delete(ada);
+
+        assertThat(headcount(1L)).isZero();
+        assertThat(headcount(2L)).isEqualTo(1);
+        assertThat(headcount(0L)).isEqualTo(1);
+
+        EmployeeStatsDTO stats = rest.getForObject("/api/v1/employees/stats", EmployeeStatsDTO.class);
+        assertThat(stats.getTotalEmployees()).isEqualTo(2);
+        assertThat(stats.getCountsByDepartment()).containsExactly(Map.entry(2L, 1L));
+    }
+
+    @Test
+    @DisplayName("reconcile repairs counters that drifted from the employee table")
+    void reconcile_repairs_drift() {
+        // Written behind the service's back: no counters at all for department 1
+        employee("Ada", "Lovelace", "ada@example.com", 1L);
+        employee("Alan", "Turing", "alan@example.com", 1L);
+        // A wrong counter, and one for a department without employees
+        jdbcTemplate.update("INSERT INTO employee.department_headcount (department_id, headcount) "
+                + "VALUES (0, 5), (3, 4)");
+        employee("Grace", "Hopper", "grace@example.com", null);
+
+        assertThat(reconciler.reconcile()).isEqualTo(3);
+
+        assertThat(headcount(1L)).isEqualTo(2);
+        assertThat(headcount(0L)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM employee.department_headcount WHERE department_id = 3", Long.class))
+                .isZero();
+        assertThat(service.getStats().getTotalEmployees()).isEqualTo(3);
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    @Test
+    @DisplayName("reconcile is skipped while another instance holds the run")
+    void reconcile_skipped_while_running_elsewhere() throws Exception {
+        employee("Ada", "Lovelace", "ada@example.com", 1L);
+
+        try (Connection otherInstance = dataSource.getConnection()) {
+            otherInstance.setAutoCommit(false);
+            try (Statement statement = otherInstance.createStatement()) {
+                statement.execute("SELECT pg_advisory_xact_lock(hashtext('employee.department_headcount.reconcile'))");
+            }
+
+            assertThat(reconciler.reconcile()).isZero();
+            assertThat(headcount(1L)).isZero();
+
+            otherInstance.rollback();
+        }
+
+        assertThat(reconciler.reconcile()).isEqualTo(1);
+        assertThat(headcount(1L)).isEqualTo(1);
+    }
+
+    private static EmployeeDTO employee(String firstName, String email, Long departmentId) {
+        return EmployeeDTO.builder()
+                .firstName(firstName)
+                .lastName("Test")
+                .email(email)
+                .departmentId(departmentId)
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.employee.service;
+
+import com.example.employee.PostgresIntegrationTest;
+import com.example.employee.dto.ImportErrorDTO;
+import com.example.employee.dto.ImportJobDTO;
+import com.example.employee.repository.EmployeeImportRepository;
+import com.example.employee.repository.ImportJobRepository;
+import com.example.employee.search.EmployeeIndexMaintainer;
+import com.example.exception.common.ServiceUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Import jobs from upload to their final state, against the real database.
+ */
+@DisplayName("EmployeeImportService")
+class EmployeeImportServiceTest extends PostgresIntegrationTest {
+
+    private static final String CSV = "first_name,last_name,email,department_id\n"
+            + "Ada,Lovelace,ada@example.com,1\n"
+            + "Alan,Turing,alan@example.com,\n"
+            + "Bob,Smith,not-an-email,\n";
+
+    @Autowired
+    private EmployeeImportService importService;
+
+    @Autowired
+    private EmployeeImportRepository importRepository;
+
+    @Autowired
+    private ImportJobRepository jobs;
+
+    @Autowired
+    private EmployeeIndexMaintainer indexMaintainer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("an upload is queued and completes with its counts and error rows")
+    void import_completes() throws Exception {
+        department(1L, "Engineering", "ENG");
+
+        ImportJobDTO queued = importService.start(file(CSV));
+        ImportJobDTO job = awaitFinished(queued.id());
+
+        assertThat(job.status()).isEqualTo(ImportJobDTO.Status.COMPLETED);
+        assertThat(job.rowsTotal()).isEqualTo(3);
+        assertThat(job.rowsImported()).isEqualTo(2);
+        assertThat(job.rowsFailed()).isEqualTo(1);
+        assertThat(job.bytesLoaded()).isEqualTo(job.bytesTotal());
+        assertThat(job.finishedAt()).isNotNull();
+        assertThat(importService.getErrors(job.id(), 0, 10))
+                .containsExactly(new ImportErrorDTO(4, "not-an-email", "invalid email"));
+    }
+
+    @Test
+    @DisplayName("a job moves through LOADING and MERGING to COMPLETED")
+    void status_flow() throws Exception {
+        ImportJobRepository recorded = mock(ImportJobRepository.class);
+        EmployeeImportService service = new EmployeeImportService(recorded, importRepository, indexMaintainer,
+                transactionManager, mock(ThreadPoolTaskExecutor.class));
+        byte[] content = CSV.getBytes(StandardCharsets.UTF_8);
+        Path csv = Files.write(Files.createTempFile("employee-import-", ".csv"), content);
+        long jobId = jobs.create("employees.csv", content.length);
+
+        service.run(jobId, csv, content.length);
+
+        InOrder order = inOrder(recorded);
+        order.verify(recorded).loading(jobId, 0);
+        order.verify(recorded).merging(jobId, content.length, 3);
+        order.verify(recorded).completed(jobId, 1, 2);
+        verify(recorded, never()).failed(anyLong(), any());
+        assertThat(csv).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("a file COPY cannot read fails the job and imports nothing")
+    void malformed_file_fails() throws Exception {
+        department(1L, "Engineering", "ENG");
+
+        ImportJobDTO queued = importService.start(file("first_name,last_name,email,department_id\n"
+                + "Ada,Lovelace,ada@example.com,1\n"
+                + "Alan,Turing,alan@example.com,1,extra\n"));
+        ImportJobDTO job = awaitFinished(queued.id());
+
+        assertThat(job.status()).isEqualTo(ImportJobDTO.Status.FAILED);
+        assertThat(job.error()).contains("extra data after last expected column");
+        assertThat(job.rowsImported()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM employee.employees", Long.class)).isZero();
+        assertThat(headcount(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("an upload beyond the queue is refused with 503 and its job marked failed")
+    void full_queue_is_unavailable() {
+        ThreadPoolTaskExecutor full = mock(ThreadPoolTaskExecutor.class);
+        doThrow(new TaskRejectedException("full")).when(full).execute(any(Runnable.class));
+        EmployeeImportService service = new EmployeeImportService(jobs, importRepository, indexMaintainer,
+                transactionManager, full);
+
+        assertThatThrownBy(() -> service.start(file(CSV)))
+                .isInstanceOfSatisfying(ServiceUnavailableException.class, e -> {
+                    assertThat(e.getHttpStatus()).isEqualTo(503);
+                    assertThat(e.getErrorCode()).isEqualTo("IMPORT_QUEUE_FULL");
+                    assertThat(e.getRetryAfter()).isPositive();
+                });
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM employee.import_jobs", String.class))
+                .isEqualTo("FAILED");
+        verify(full).execute(any(Runnable.class));
+    }
+
+    private ImportJobDTO awaitFinished(long jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (System.nanoTime() < deadline) {
+            ImportJobDTO job = importService.getJob(jobId);
+            if (job.status() == ImportJobDTO.Status.COMPLETED || job.status() == ImportJobDTO.Status.FAILED) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Import " + jobId + " did not finish");
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile("file", "employees.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
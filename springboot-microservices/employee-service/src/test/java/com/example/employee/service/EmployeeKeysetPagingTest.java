@@ -0,0 +1,109 @@
+package com.example.employee.service;
+
+import com.example.employee.PostgresIntegrationTest;
+import com.example.employee.dto.EmployeeDTO;
+import com.example.employee.dto.EmployeeSearchRequest;
+import com.example.employee.dto.FieldSelection;
+import com.example.employee.dto.PageResponse;
+import com.example.employee.dto.SortCatalog;
+import com.example.exception.common.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Walks every cursor page and compares the result with a plain ORDER BY, so ties on the sort
+ * keys, the id tiebreak and both directions of the seek predicate are covered.
+ */
+@DisplayName("Keyset paging")
+class EmployeeKeysetPagingTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EmployeeService service;
+
+    @BeforeEach
+    void employees() {
+        // Repeated last and first names, so pages end in the middle of ties
+        String[] lastNames = {"Nguyen", "Adams", "Nguyen", "Baker", "Adams", "Nguyen", "Baker"};
+        String[] firstNames = {"Alice", "Bob", "Alice", "Cleo", "Bob", "Dan", "Alice"};
+        for (int i = 0; i < 21; i++) {
+            employee(firstNames[i % firstNames.length], lastNames[i % lastNames.length],
+                    "user" + i + "@example.com", null);
+        }
+    }
+
+    @Test
+    @DisplayName("ascending multi-key pages visit every row once, in ORDER BY order")
+    void ascending_pages() {
+        assertThat(walk("lastName,asc;firstName,asc", 4))
+                .containsExactlyElementsOf(ids("last_name ASC, first_name ASC, id ASC"));
+    }
+
+    @Test
+    @DisplayName("descending multi-key pages visit every row once, in ORDER BY order")
+    void descending_pages() {
+        assertThat(walk("lastName,desc;firstName,desc", 3))
+                .containsExactlyElementsOf(ids("last_name DESC, first_name DESC, id DESC"));
+    }
+
+    @Test
+    @DisplayName("id-only sorts page by id")
+    void id_pages() {
+        assertThat(walk("id,desc", 5)).containsExactlyElementsOf(ids("id DESC"));
+    }
+
+    @Test
+    @DisplayName("the last page has no next cursor")
+    void last_page() {
+        PageResponse<EmployeeDTO> page = service.getAllKeyset(new EmployeeSearchRequest(), "", 21,
+                SortCatalog.EMPLOYEES.parse("id,asc"), FieldSelection.parse(null, null));
+
+        assertThat(page.getContent()).hasSize(21);
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getHasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("a cursor cannot be reused with another sort, and sizes are bounded")
+    void rejects_mismatch_and_size() {
+        Sort byName = SortCatalog.EMPLOYEES.parse("lastName,asc");
+        String cursor = service.getAllKeyset(new EmployeeSearchRequest(), "", 2, byName,
+                FieldSelection.parse(null, null)).getNextCursor();
+
+        assertThatThrownBy(() -> service.getAllKeyset(new EmployeeSearchRequest(), cursor, 2,
+                SortCatalog.EMPLOYEES.parse("email,asc"), FieldSelection.parse(null, null)))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> service.getAllKeyset(new EmployeeSearchRequest(), "", 0, byName,
+                FieldSelection.parse(null, null)))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> service.getAllKeyset(new EmployeeSearchRequest(), "", PageResponse.MAX_SIZE + 1,
+                byName, FieldSelection.parse(null, null)))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    private List<Long> walk(String sort, int size) {
+        Sort parsed = SortCatalog.EMPLOYEES.parse(sort);
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            PageResponse<EmployeeDTO> page = service.getAllKeyset(new EmployeeSearchRequest(), cursor, size, parsed,
+                    FieldSelection.parse(null, null));
+            assertThat(page.getContent()).hasSizeLessThanOrEqualTo(size);
+            page.getContent().forEach(dto -> seen.add(dto.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private List<Long> ids(String orderBy) {
+        return jdbcTemplate.queryForList("SELECT id FROM employee.employees ORDER BY " + orderBy, Long.class);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.employee.service;
+
+import com.example.employee.PostgresIntegrationTest;
+import com.example.employee.dto.ReassignRequest;
+import com.example.employee.dto.ReassignResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Department reassignment against the real database: which rows move, the headcounts and the event.
+ */
+@DisplayName("EmployeeService.reassign")
+class EmployeeReassignTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EmployeeService service;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    @DisplayName("moves a department's employees, their headcount and announces the move once")
+    void moves_department() {
+        remoteDepartments(1L, 2L);
+        long ada = employee("Ada", "Lovelace", "ada@example.com", 1L);
+        long alan = employee("Alan", "Turing", "alan@example.com", 1L);
+        long grace = employee("Grace", "Hopper", "grace@example.com", 2L);
+        headcounts(1L, 2, 2L, 1);
+
+        ReassignResponse response = service.reassign(request(1L, 2L, null));
+
+        assertThat(response).isEqualTo(new ReassignResponse(1L, 2L, 2));
+        assertThat(departmentOf(ada)).isEqualTo(2L);
+        assertThat(departmentOf(alan)).isEqualTo(2L);
+        assertThat(departmentOf(grace)).isEqualTo(2L);
+        assertThat(headcount(1L)).isZero();
+        assertThat(headcount(2L)).isEqualTo(3);
+        verify(eventProducer).sendEmployeesReassignedEvent(1L, 2L, 2);
+    }
+
+    @Test
+    @DisplayName("a null source moves only unassigned employees")
+    void null_source_moves_unassigned() {
+        remoteDepartments(1L, 2L);
+        long ada = employee("Ada", "Lovelace", "ada@example.com", null);
+        long alan = employee("Alan", "Turing", "alan@example.com", 1L);
+        headcounts(0L, 1, 1L, 1);
+
+        ReassignResponse response = service.reassign(request(null, 2L, null));
+
+        assertThat(response.reassigned()).isEqualTo(1);
+        assertThat(departmentOf(ada)).isEqualTo(2L);
+        assertThat(departmentOf(alan)).isEqualTo(1L);
+        assertThat(headcount(0L)).isZero();
+        assertThat(headcount(1L)).isEqualTo(1);
+        assertThat(headcount(2L)).isEqualTo(1);
+        verify(eventProducer).sendEmployeesReassignedEvent(null, 2L, 1);
+    }
+
+    @Test
+    @DisplayName("employeeIds restricts the move to the listed employees of the source")
+    void employee_ids_filter() {
+        remoteDepartments(1L, 2L, 3L);
+        long ada = employee("Ada", "Lovelace", "ada@example.com", 1L);
+        long alan = employee("Alan", "Turing", "alan@example.com", 1L);
+        long grace = employee("Grace", "Hopper", "grace@example.com", 3L);
+        headcounts(1L, 2, 3L, 1);
+
+        // Grace is listed but not in the source department, so she stays
+        ReassignResponse response = service.reassign(request(1L, 2L, List.of(ada, grace)));
+
+        assertThat(response.reassigned()).isEqualTo(1);
+        assertThat(departmentOf(ada)).isEqualTo(2L);
+        assertThat(departmentOf(alan)).isEqualTo(1L);
+        assertThat(departmentOf(grace)).isEqualTo(3L);
+        assertThat(headcount(1L)).isEqualTo(1);
+        assertThat(headcount(2L)).isEqualTo(1);
+        assertThat(headcount(3L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("an empty employeeIds list moves nothing and sends no event")
+    void empty_ids_move_nothing() {
+        remoteDepartments(1L, 2L);
+        long ada = employee("Ada", "Lovelace", "ada@example.com", 1L);
+
+        ReassignResponse response = service.reassign(request(1L, 2L, List.of()));
+
+        assertThat(response.reassigned()).isZero();
+        assertThat(departmentOf(ada)).isEqualTo(1L);
+        verify(eventProducer, never()).sendEmployeesReassignedEvent(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("the same source and target answers 400")
+    void same_department_is_rejected() {
+        remoteDepartments(1L);
+        long ada = employee("Ada", "Lovelace", "ada@example.com", 1L);
+
+        ResponseEntity<String> response = rest.postForEntity("/api/v1/employees/reassign",
+                request(1L, 1L, null), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("toDepartmentId");
+        assertThat(departmentOf(ada)).isEqualTo(1L);
+        verify(eventProducer, never()).sendEmployeesReassignedEvent(any(), anyLong(), anyLong());
+    }
+
+    private static ReassignRequest request(Long from, Long to, List<Long> employeeIds) {
+        ReassignRequest request = new ReassignRequest();
+        request.setFromDepartmentId(from);
+        request.setToDepartmentId(to);
+        request.setEmployeeIds(employeeIds);
+        return request;
+    }
+
+    private void headcounts(long firstDepartment, long firstCount, long secondDepartment, long secondCount) {
+        jdbcTemplate.update("INSERT INTO employee.department_headcount (department_id, headcount) VALUES (?, ?), (?, ?)",
+                firstDepartment, firstCount, secondDepartment, secondCount);
+    }
+
+    private Long departmentOf(long employeeId) {
+        return jdbcTemplate.queryForObject("SELECT department_id FROM employee.employees WHERE id = ?",
+                Long.class, employeeId);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.employee.service;
+
+import com.example.employee.PostgresIntegrationTest;
+import com.example.employee.dto.EmployeeSuggestion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Suggestions without the in-memory trie, which is off by default: a prefix query in SQL.
+ */
+@DisplayName("Suggestions from SQL")
+class EmployeeSuggestQueryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EmployeeService service;
+
+    @Test
+    @DisplayName("matches prefixes of first name, last name, full name and email, not substrings")
+    void matches_prefixes_only() {
+        long alice = employee("Alice", "Nguyen", "alice@example.com", null);
+        long alan = employee("Alan", "Martinez", "a.martinez@example.com", null);
+        long bob = employee("Bob", "Allen", "bob@example.com", null);
+        employee("Malik", "Khalil", "malik@example.com", null);
+
+        assertThat(ids(service.suggest("al", 10))).containsExactly(alice, alan, bob);
+        assertThat(ids(service.suggest("ALICE NG", 10))).containsExactly(alice);
+        assertThat(ids(service.suggest("a.mar", 10))).containsExactly(alan);
+        assertThat(ids(service.suggest("lik", 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("LIKE wildcards in the prefix are matched literally")
+    void escapes_wildcards() {
+        employee("Alice", "Nguyen", "alice@example.com", null);
+        long underscored = employee("Ann", "Lee", "a_lee@example.com", null);
+
+        assertThat(ids(service.suggest("a_", 10))).containsExactly(underscored);
+        assertThat(service.suggest("%", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("returns at most limit suggestions in id order")
+    void limits() {
+        long first = employee("Ann", "One", "ann1@example.com", null);
+        long second = employee("Ann", "Two", "ann2@example.com", null);
+        employee("Ann", "Three", "ann3@example.com", null);
+
+        assertThat(ids(service.suggest("ann", 2))).containsExactly(first, second);
+    }
+
+    private static List<Long> ids(List<EmployeeSuggestion> suggestions) {
+        return suggestions.stream().map(EmployeeSuggestion::getId).toList();
+    }
+}